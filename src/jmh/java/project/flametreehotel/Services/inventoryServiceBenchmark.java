@@ -0,0 +1,78 @@
+package project.flametreehotel.Services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Repository.inventoryRow;
+import project.flametreehotel.bench.benchContext;
+
+/**
+ * Inventory read path: the status rule on its own, one /list page (query and
+ * row mapping) and a cached by-id lookup. Lives in the Services package to reach the
+ * package-private computeStatus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class inventoryServiceBenchmark {
+
+    @Param({"50", "200"})
+    public int pageSize;
+
+    private inventoryService service;
+    private inventory[] rows;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = benchContext.get().getBean(inventoryService.class);
+        rows = benchContext.items(1024).toArray(inventory[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        benchContext.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void computeStatus(Blackhole blackhole) {
+        for (inventory row : rows) {
+            blackhole.consume(inventoryService.computeStatus(row.getInStock(), row.getMinLevel(), row.getDamaged(), row.getMissing()));
+        }
+    }
+
+    @Benchmark
+    public pageResult<inventoryRow> listFirstPage() {
+        return service.listItems(null, pageSize, null, null, null);
+    }
+
+    @Benchmark
+    public pageResult<inventoryRow> listFirstPageByItem() {
+        return service.listItems(null, pageSize, "item", null, null);
+    }
+
+    @Benchmark
+    public inventory getItemCached() {
+        nextId = nextId % 1000 + 1;
+        return service.getItem(nextId);
+    }
+}
@@ -0,0 +1,66 @@
+package project.flametreehotel.Services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.flametreehotel.Repository.staffTask;
+import project.flametreehotel.bench.hotelDataGenerator;
+
+/**
+ * One turnover plan without the database: rooms over a roster that already holds a few
+ * open tasks each. The target is 500 rooms x 40 staff well under a second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class turnoverSchedulerBenchmark {
+
+    @Param({"20", "500"})
+    public int rooms;
+
+    @Param({"40"})
+    public int staff;
+
+    private record openTask(String getStaff, String getRoom) implements staffTask {
+    }
+
+    private List<String> wave;
+    private List<String> roster;
+    private List<staffTask> open;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        wave = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) wave.add(hotelDataGenerator.room(i));
+        roster = new ArrayList<>(staff);
+        for (int i = 0; i < staff; i++) roster.add(hotelDataGenerator.staffName(i));
+        open = new ArrayList<>();
+        for (int i = 0; i < staff * 3; i++) {
+            open.add(new openTask(roster.get(random.nextInt(staff)), hotelDataGenerator.room(random.nextInt(500))));
+        }
+    }
+
+    @Benchmark
+    public String[] plan() {
+        return turnoverScheduler.plan(wave, roster, open, 0.5);
+    }
+}
@@ -0,0 +1,68 @@
+package project.flametreehotel.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import project.flametreehotel.FlameTreeHotelApplication;
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Repository.inventoryRepository;
+
+/**
+ * One application context per benchmark JVM, started with the "bench" profile (in-memory
+ * H2, no web server) and seeded with hotel.bench.rows inventory rows.
+ */
+public final class benchContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private benchContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            SpringApplication app = new SpringApplication(FlameTreeHotelApplication.class);
+            app.setAdditionalProfiles("bench");
+            context = app.run();
+            seed(context.getBean(inventoryRepository.class),
+                    context.getEnvironment().getProperty("hotel.bench.rows", Integer.class, 10000));
+        }
+        return context;
+    }
+
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    /**
+     * Inventory rows with a spread of stock levels, so all three statuses occur.
+     */
+    public static List<inventory> items(int count) {
+        List<inventory> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            inventory item = new inventory();
+            item.setItem("Item " + i);
+            item.setCategory(i % 3 == 0 ? "Linen" : i % 3 == 1 ? "Toiletries" : "Minibar");
+            item.setInStock(i % 97);
+            item.setMinLevel(i % 13);
+            item.setDamaged(i % 7 == 0 ? 2 : 0);
+            item.setMissing(i % 11 == 0 ? 1 : 0);
+            item.setStatus(i % 97 > 30 ? "Healthy" : "Low Stock");
+            rows.add(item);
+        }
+        return rows;
+    }
+
+    private static void seed(inventoryRepository repository, int rows) {
+        if (repository.count() > 0) return;
+        List<inventory> items = items(rows);
+        for (int from = 0; from < items.size(); from += 1000) {
+            repository.saveAll(items.subList(from, Math.min(from + 1000, items.size())));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package project.flametreehotel.bench;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import project.flametreehotel.Model.guest;
+import project.flametreehotel.Model.housekeeping;
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Model.maintenance;
+import project.flametreehotel.Model.orders;
+import project.flametreehotel.Model.users;
+import project.flametreehotel.Repository.authRepository;
+import project.flametreehotel.Repository.guestRepository;
+import project.flametreehotel.Repository.housekeepingRepository;
+import project.flametreehotel.Repository.inventoryRepository;
+import project.flametreehotel.Repository.maintenanceRepository;
+import project.flametreehotel.Repository.ordersRepository;
+import project.flametreehotel.Services.slaPolicy;
+
+/**
+ * Deterministic hotel data for load runs: rooms over floors, a staff roster, and a year of
+ * housekeeping tasks, maintenance tickets, guest requests and purchase orders against an
+ * inventory catalogue. Rows older than a week are closed; the last week keeps a realistic
+ * share of open work so status filters and dashboards see both.
+ */
+public class hotelDataGenerator {
+
+    static final String PASSWORD = "load-test";
+    private static final String[] ROLES = {"Housekeeping Staff", "Maintenance Staff",
+            "Front Desk / Reception Staff", "Inventory/Store Manager", "Staff Supervisor", "Manager"};
+    private static final String[] TASK_TYPES = {"Room Cleaning", "Extra Linen", "Toiletries Refill",
+            "Turn-down Service", "Other Assistance"};
+    private static final String[] GUEST_REQUESTS = {"Room Assistance", "Extra Towels", "Toiletries Refill",
+            "Cleaning Follow-up", "Other"};
+    private static final String[] ISSUES = {"Leaking tap", "AC not cooling", "Broken lamp", "TV remote missing",
+            "Door lock jammed", "Shower drain blocked", "Damaged curtain"};
+    private static final String[] OPEN_TASK = {"Assigned", "In Progress"};
+    private static final String[] OPEN_TICKET = {"Open", "In Progress", "Replacement Needed"};
+    private static final String[] CATEGORIES = {"Bedding", "Towels", "Toiletries", "Cleaning Supplies", "Other Consumables"};
+    private static final String[] SUPPLIERS = {"Lanka Linen", "CleanCo", "Island Amenities", "Coastal Traders", "Metro Supplies"};
+    private static final int CHUNK = 1000;
+
+    private final int rooms;
+    private final int staff;
+    private final int days;
+    private final Random random;
+
+    public hotelDataGenerator(int rooms, int staff, int days, long seed) {
+        this.rooms = rooms;
+        this.staff = staff;
+        this.days = days;
+        this.random = new Random(seed);
+    }
+
+    public record counts(int users, int inventory, int orders, int housekeeping, int maintenance, int guest) {
+    }
+
+    public counts load(ApplicationContext context) {
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<users> roster = users(hash);
+        List<inventory> catalogue = inventory();
+        List<orders> purchases = orders(catalogue);
+        List<housekeeping> tasks = housekeeping(roster);
+        List<maintenance> tickets = maintenance(roster);
+        List<guest> requests = guest(roster, context.getBean(slaPolicy.class));
+
+        save(context.getBean(authRepository.class), roster);
+        save(context.getBean(inventoryRepository.class), catalogue);
+        save(context.getBean(ordersRepository.class), purchases);
+        save(context.getBean(housekeepingRepository.class), tasks);
+        save(context.getBean(maintenanceRepository.class), tickets);
+        save(context.getBean(guestRepository.class), requests);
+        return new counts(roster.size(), catalogue.size(), purchases.size(), tasks.size(), tickets.size(), requests.size());
+    }
+
+    public static String room(int index) {
+        return String.valueOf((index / 20 + 1) * 100 + index % 20 + 1);
+    }
+
+    public static String staffName(int index) {
+        return "staff" + index;
+    }
+
+    private List<users> users(String hash) {
+        List<users> rows = new ArrayList<>();
+        for (int i = 0; i < staff; i++) {
+            users user = new users();
+            user.setUsername(staffName(i));
+            user.setStaffEmail(staffName(i) + "@flametree.example");
+            user.setPassword(hash);
+            // Mostly floor staff, as in the real roster.
+            user.setRole(ROLES[i % 10 < 5 ? 0 : i % 10 < 7 ? 1 : i % 10 < 8 ? 2 : 3 + i % 3]);
+            user.setStatus(true);
+            rows.add(user);
+        }
+        return rows;
+    }
+
+    private List<inventory> inventory() {
+        List<inventory> rows = new ArrayList<>();
+        int items = Math.max(50, rooms);
+        for (int i = 1; i <= items; i++) {
+            inventory item = new inventory();
+            item.setItem(CATEGORIES[i % CATEGORIES.length] + " " + i);
+            item.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            item.setMinLevel(10 + random.nextInt(40));
+            item.setInStock(random.nextInt(200));
+            item.setDamaged(random.nextInt(10) == 0 ? random.nextInt(5) : 0);
+            item.setMissing(random.nextInt(15) == 0 ? random.nextInt(3) : 0);
+            int usable = item.getInStock() - item.getDamaged() - item.getMissing();
+            item.setStatus(usable <= item.getMinLevel() + 10 ? "Low Stock"
+                    : item.getDamaged() > 0 || item.getMissing() > 0 ? "Monitor" : "Healthy");
+            rows.add(item);
+        }
+        return rows;
+    }
+
+    private List<orders> orders(List<inventory> catalogue) {
+        List<orders> rows = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            int lines = 1 + random.nextInt(Math.max(1, catalogue.size() / 30));
+            for (int line = 1; line <= lines; line++) {
+                inventory item = catalogue.get(random.nextInt(catalogue.size()));
+                orders order = new orders();
+                order.setPoid(String.format("PO-%03d-%03d", day, line));
+                order.setSupplier(SUPPLIERS[Math.floorMod(item.getItem().hashCode(), SUPPLIERS.length)]);
+                order.setItem(item.getItem());
+                order.setQty(20 + random.nextInt(180));
+                order.setStatus(open(day) ? (random.nextBoolean() ? "Pending" : "Partial") : "Complete");
+                order.setStockReceived(!open(day));
+                rows.add(order);
+            }
+        }
+        return rows;
+    }
+
+    private List<housekeeping> housekeeping(List<users> roster) {
+        List<String> cleaners = staffWithRole(roster, ROLES[0]);
+        List<housekeeping> rows = new ArrayList<>();
+        int n = 0;
+        for (int day = 0; day < days; day++) {
+            for (int room = 0; room < rooms; room++) {
+                // About three quarters of rooms are occupied and serviced on a given day.
+                if (random.nextInt(4) == 0) continue;
+                housekeeping task = new housekeeping();
+                task.setRequestId(String.format("HK-%07d", ++n));
+                task.setRoom(room(room));
+                task.setRequestType(random.nextInt(5) == 0 ? TASK_TYPES[1 + random.nextInt(4)] : TASK_TYPES[0]);
+                task.setAssignedStaff(cleaners.get(random.nextInt(cleaners.size())));
+                task.setTaskStatus(open(day) ? OPEN_TASK[random.nextInt(2)] : "Completed");
+                task.setApproved(!open(day));
+                rows.add(task);
+            }
+        }
+        return rows;
+    }
+
+    private List<maintenance> maintenance(List<users> roster) {
+        List<String> technicians = staffWithRole(roster, ROLES[1]);
+        List<maintenance> rows = new ArrayList<>();
+        int n = 0;
+        for (int day = 0; day < days; day++) {
+            int tickets = random.nextInt(Math.max(2, rooms / 25));
+            for (int t = 0; t < tickets; t++) {
+                maintenance ticket = new maintenance();
+                ticket.setTicket(String.format("MT-%06d", ++n));
+                ticket.setLocation("Room " + room(random.nextInt(rooms)));
+                ticket.setIssue(ISSUES[random.nextInt(ISSUES.length)]);
+                ticket.setAssignedTo(technicians.get(random.nextInt(technicians.size())));
+                ticket.setStatus(open(day) ? OPEN_TICKET[random.nextInt(3)] : "Repaired");
+                ticket.setApproved(!open(day));
+                rows.add(ticket);
+            }
+        }
+        return rows;
+    }
+
+    private List<guest> guest(List<users> roster, slaPolicy sla) {
+        List<String> desk = staffWithRole(roster, ROLES[2]);
+        List<guest> rows = new ArrayList<>();
+        Instant start = Instant.now().minus(Duration.ofDays(days));
+        int n = 0;
+        for (int day = 0; day < days; day++) {
+            int requests = rooms * 3 / 10 + random.nextInt(Math.max(1, rooms / 10));
+            for (int r = 0; r < requests; r++) {
+                guest request = new guest();
+                request.setRequestId(String.format("GR-%07d", ++n));
+                request.setGuestRoom(room(random.nextInt(rooms)));
+                request.setRequest(GUEST_REQUESTS[random.nextInt(GUEST_REQUESTS.length)]);
+                request.setAssignedStaff(desk.get(random.nextInt(desk.size())));
+                request.setStatus(open(day) ? OPEN_TASK[random.nextInt(2)] : "Completed");
+                request.setCreatedAt(start.plus(Duration.ofDays(day)).plusSeconds(random.nextInt(86_400)));
+                request.setDepartment(sla.department(null, request.getRequest()));
+                // Mostly Normal, with some of every other level so the SLA queue has an order to keep.
+                request.setPriority(slaPolicy.PRIORITIES.get(random.nextInt(10) < 6 ? 1 : random.nextInt(4)));
+                request.setDueAt(sla.dueAt(request.getCreatedAt(), request.getPriority()));
+                rows.add(request);
+            }
+        }
+        return rows;
+    }
+
+    private boolean open(int day) {
+        return day >= days - 7;
+    }
+
+    private static List<String> staffWithRole(List<users> roster, String role) {
+        List<String> names = roster.stream().filter(u -> role.equals(u.getRole())).map(users::getUsername).toList();
+        return names.isEmpty() ? List.of(staffName(0)) : names;
+    }
+
+    private static <T> void save(JpaRepository<T, Integer> repository, List<T> rows) {
+        for (int from = 0; from < rows.size(); from += CHUNK) {
+            repository.saveAll(rows.subList(from, Math.min(from + CHUNK, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package project.flametreehotel.bench;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load: each client repeatedly picks a scenario by weight, sends it and
+ * records the latency, until the run time is up. Reports throughput, latency percentiles
+ * and error counts per scenario.
+ */
+public class loadDriver {
+
+    /**
+     * One kind of request in the mix. The supplier is called per request, so bodies and ids can vary.
+     */
+    public record scenario(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    public record result(String name, long[] sortedNanos, int errors, double seconds) {
+
+        public double throughput() {
+            return sortedNanos.length / seconds;
+        }
+
+        public double percentileMs(double p) {
+            if (sortedNanos.length == 0) return 0;
+            int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+
+    private final HttpClient http;
+
+    public loadDriver() {
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+    }
+
+    public List<result> run(List<scenario> mix, int clients, int seconds) throws Exception {
+        int totalWeight = mix.stream().mapToInt(scenario::weight).sum();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<samples[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                samples[] local = new samples[mix.size()];
+                for (int i = 0; i < local.length; i++) local[i] = new samples();
+                while (System.nanoTime() < end) {
+                    int pick = pick(mix, ThreadLocalRandom.current().nextInt(totalWeight));
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = http.send(mix.get(pick).request().get(), HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    local[pick].add(System.nanoTime() - start, ok);
+                }
+                return local;
+            }));
+        }
+
+        samples[] merged = new samples[mix.size()];
+        for (int i = 0; i < merged.length; i++) merged[i] = new samples();
+        for (Future<samples[]> future : futures) {
+            samples[] local = future.get();
+            for (int i = 0; i < merged.length; i++) merged[i].addAll(local[i]);
+        }
+        pool.shutdown();
+
+        List<result> results = new ArrayList<>();
+        for (int i = 0; i < mix.size(); i++) {
+            long[] sorted = Arrays.copyOf(merged[i].nanos, merged[i].count);
+            Arrays.sort(sorted);
+            results.add(new result(mix.get(i).name(), sorted, merged[i].errors, seconds));
+        }
+        return results;
+    }
+
+    public static void print(List<result> results) {
+        System.out.printf("%-34s %8s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        long total = 0;
+        double seconds = 0;
+        for (result r : results) {
+            System.out.printf("%-34s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    r.name(), r.sortedNanos().length, r.throughput(),
+                    r.percentileMs(0.50), r.percentileMs(0.95), r.percentileMs(0.99), r.percentileMs(1.0), r.errors());
+            total += r.sortedNanos().length;
+            seconds = r.seconds();
+        }
+        System.out.printf("%-34s %8d %9.1f%n", "total", total, seconds > 0 ? total / seconds : 0);
+    }
+
+    /**
+     * Parses "name:weight,name:weight" and keeps the named scenarios with the given weights,
+     * in the order listed. Unknown names are rejected so a typo does not silently drop load.
+     */
+    public static List<scenario> mix(Map<String, Supplier<HttpRequest>> available, String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] pair = part.trim().split(":");
+            if (!available.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown scenario " + pair[0] + "; known: " + available.keySet());
+            }
+            weights.put(pair[0], pair.length > 1 ? Integer.parseInt(pair[1]) : 1);
+        }
+        List<scenario> mix = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            if (weight > 0) mix.add(new scenario(name, weight, available.get(name)));
+        });
+        return mix;
+    }
+
+    private static int pick(List<scenario> mix, int roll) {
+        for (int i = 0; i < mix.size(); i++) {
+            roll -= mix.get(i).weight();
+            if (roll < 0) return i;
+        }
+        return mix.size() - 1;
+    }
+
+    private static final class samples {
+        long[] nanos = new long[256];
+        int count;
+        int errors;
+
+        void add(long value, boolean ok) {
+            if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+            nanos[count++] = value;
+            if (!ok) errors++;
+        }
+
+        void addAll(samples other) {
+            if (count + other.count > nanos.length) nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package project.flametreehotel.bench;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import project.flametreehotel.FlameTreeHotelApplication;
+import project.flametreehotel.Services.guestService;
+import project.flametreehotel.Services.housekeepingService;
+import project.flametreehotel.Services.inventoryService;
+import project.flametreehotel.Services.maintenanceService;
+import project.flametreehotel.Services.ordersService;
+
+/**
+ * End-to-end load run: starts the application on a random port with the "bench" profile
+ * (in-memory H2), loads a generated year of hotel data, then drives a weighted mix of
+ * endpoint calls and prints throughput and latency percentiles per endpoint.
+ *
+ * mvn -Pbench test-compile exec:exec@load-test -Dload.args="rooms=300 clients=64 seconds=60"
+ *
+ * Options (name=value): rooms (200), staff (60), days (365), seed (42), clients (32),
+ * warmup (10 s), seconds (30), mix ("name:weight,..." over the scenarios below; default all).
+ * Updates and adjustments touch the generated rows; deletes are left out so the data set
+ * stays the same size for the whole run.
+ *
+ * With url=http://host:port the same driver runs against an instance that is already up,
+ * with no data generated, and the mix defaults to GET /housekeeping/list and
+ * POST /housekeeping/add. Run it once against the app started normally and once with
+ * --spring.threads.virtual.enabled=true to compare the two threading modes.
+ */
+public class loadHarness {
+
+    // Needs no generated rows, so it is what a url= run drives by default.
+    private static final String REMOTE_MIX = "GET /housekeeping/list:1,POST /housekeeping/add:1";
+
+    public static void main(String[] args) throws Exception {
+        // Scenario names contain spaces and exec splits on whitespace, so a token without
+        // '=' continues the previous value.
+        Map<String, String> options = new LinkedHashMap<>();
+        String last = null;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0 && !arg.startsWith("/")) {
+                last = arg.substring(0, eq);
+                options.put(last, arg.substring(eq + 1));
+            } else if (last != null) {
+                options.put(last, options.get(last) + " " + arg);
+            }
+        }
+        int rooms = Integer.parseInt(options.getOrDefault("rooms", "200"));
+        int staff = Integer.parseInt(options.getOrDefault("staff", "60"));
+        int days = Integer.parseInt(options.getOrDefault("days", "365"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+
+        String url = options.get("url");
+        if (url != null) {
+            Map<String, Supplier<HttpRequest>> scenarios = scenarios(url, rooms, staff,
+                    new hotelDataGenerator.counts(0, 0, 0, 0, 0, 0));
+            drive(scenarios, options.getOrDefault("mix", REMOTE_MIX), clients, warmup, seconds);
+            System.exit(0);
+        }
+
+        SpringApplication app = new SpringApplication(FlameTreeHotelApplication.class);
+        app.setAdditionalProfiles("bench");
+        // Command-line arguments outrank application-bench.properties, which turns the web server off.
+        ConfigurableApplicationContext context = app.run("--spring.main.web-application-type=servlet", "--server.port=0");
+        try {
+            long start = System.nanoTime();
+            hotelDataGenerator.counts counts = new hotelDataGenerator(rooms, staff, days, seed).load(context);
+            reconcile(context);
+            System.out.printf("Loaded %s in %d ms%n", counts, (System.nanoTime() - start) / 1_000_000);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Map<String, Supplier<HttpRequest>> scenarios = scenarios(baseUrl, rooms, staff, counts);
+            drive(scenarios, options.getOrDefault("mix", defaultMix(scenarios)), clients, warmup, seconds);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static void drive(Map<String, Supplier<HttpRequest>> scenarios, String spec,
+                              int clients, int warmup, int seconds) throws Exception {
+        loadDriver driver = new loadDriver();
+        if (warmup > 0) driver.run(loadDriver.mix(scenarios, spec), clients, warmup);
+        loadDriver.print(driver.run(loadDriver.mix(scenarios, spec), clients, seconds));
+    }
+
+    private static void reconcile(ConfigurableApplicationContext context) {
+        context.getBean(inventoryService.class).reconcileMetrics();
+        context.getBean(ordersService.class).reconcileMetrics();
+        context.getBean(housekeepingService.class).reconcileMetrics();
+        context.getBean(maintenanceService.class).reconcileMetrics();
+        context.getBean(guestService.class).reconcileMetrics();
+    }
+
+    /**
+     * Reads dominate, as at the front desk; list pages and single-row lookups carry most of the weight.
+     */
+    private static String defaultMix(Map<String, Supplier<HttpRequest>> scenarios) {
+        StringBuilder spec = new StringBuilder();
+        for (String name : scenarios.keySet()) {
+            int weight = name.endsWith("/list") ? 10 : name.startsWith("GET") ? 4 : 1;
+            spec.append(name).append(':').append(weight).append(',');
+        }
+        return spec.toString();
+    }
+
+    private static Map<String, Supplier<HttpRequest>> scenarios(String baseUrl, int rooms, int staff,
+                                                                  hotelDataGenerator.counts counts) {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        AtomicInteger sequence = new AtomicInteger();
+        Map<String, Supplier<HttpRequest>> s = new LinkedHashMap<>();
+
+        for (String module : new String[]{"inventory", "orders", "housekeeping", "maintenance", "guestservice"}) {
+            s.put("GET /" + module + "/list", () -> get(baseUrl, "/" + module + "/list?limit=50"));
+            s.put("GET /" + module + "/list?status", () -> get(baseUrl, "/" + module + "/list?limit=50&status="
+                    + encode(openStatus(module))));
+            s.put("GET /" + module + "/metrics", () -> get(baseUrl, "/" + module + "/metrics"));
+        }
+        s.put("GET /inventory/{id}", () -> get(baseUrl, "/inventory/" + id(counts.inventory())));
+        s.put("GET /inventory/item/{item}", () -> get(baseUrl, "/inventory/item/" + encode(itemName(id(counts.inventory())))));
+        s.put("GET /orders/{id}", () -> get(baseUrl, "/orders/" + id(counts.orders())));
+        s.put("GET /housekeeping/{id}", () -> get(baseUrl, "/housekeeping/" + id(counts.housekeeping())));
+        s.put("GET /housekeeping/request/{id}", () -> get(baseUrl, "/housekeeping/request/"
+                + String.format("HK-%07d", id(counts.housekeeping()))));
+        s.put("GET /maintenance/{id}", () -> get(baseUrl, "/maintenance/" + id(counts.maintenance())));
+        s.put("GET /maintenance/ticket/{ticket}", () -> get(baseUrl, "/maintenance/ticket/"
+                + String.format("MT-%06d", id(counts.maintenance()))));
+        s.put("GET /guestservice/{id}", () -> get(baseUrl, "/guestservice/" + id(counts.guest())));
+        s.put("GET /dashboard/summary", () -> get(baseUrl, "/dashboard/summary"));
+        s.put("GET /auth/users", () -> get(baseUrl, "/auth/users"));
+        s.put("GET /cache/stats", () -> get(baseUrl, "/cache/stats"));
+
+        s.put("POST /auth/login", () -> post(baseUrl, "/auth/login", "{\"username\":\""
+                + hotelDataGenerator.staffName(0) + "\",\"password\":\"" + hotelDataGenerator.PASSWORD
+                + "\",\"role\":\"Housekeeping Staff\"}"));
+        s.put("POST /inventory/add", () -> post(baseUrl, "/inventory/add", "{\"item\":\"Load " + run + "-"
+                + sequence.incrementAndGet() + "\",\"category\":\"Towels\",\"inStock\":80,\"minLevel\":20}"));
+        s.put("POST /inventory/{id}/adjust", () -> post(baseUrl, "/inventory/" + id(counts.inventory()) + "/adjust",
+                "{\"inStock\":" + (ThreadLocalRandom.current().nextBoolean() ? 5 : -5) + "}"));
+        s.put("POST /orders/add", () -> post(baseUrl, "/orders/add", "{\"poid\":\"LT-" + run + "-"
+                + sequence.incrementAndGet() + "\",\"supplier\":\"CleanCo\",\"item\":\"" + itemName(id(counts.inventory()))
+                + "\",\"qty\":50,\"status\":\"Pending\"}"));
+        s.put("POST /housekeeping/add", () -> post(baseUrl, "/housekeeping/add", "{\"requestId\":\"LT-" + run + "-"
+                + sequence.incrementAndGet() + "\",\"room\":\"" + hotelDataGenerator.room(id(rooms) - 1)
+                + "\",\"requestType\":\"Room Cleaning\",\"assignedStaff\":\"" + hotelDataGenerator.staffName(id(staff) - 1)
+                + "\",\"taskStatus\":\"Assigned\"}"));
+        s.put("POST /housekeeping/update", () -> {
+            int id = id(counts.housekeeping());
+            return post(baseUrl, "/housekeeping/update", "{\"id\":" + id + ",\"requestId\":\""
+                    + String.format("HK-%07d", id) + "\",\"room\":\"" + hotelDataGenerator.room(id % rooms)
+                    + "\",\"requestType\":\"Room Cleaning\",\"assignedStaff\":\"" + hotelDataGenerator.staffName(id % staff)
+                    + "\",\"taskStatus\":\"In Progress\"}");
+        });
+        s.put("POST /maintenance/add", () -> post(baseUrl, "/maintenance/add", "{\"ticket\":\"LT-" + run + "-"
+                + sequence.incrementAndGet() + "\",\"location\":\"Room " + hotelDataGenerator.room(id(rooms) - 1)
+                + "\",\"issue\":\"Leaking tap\",\"assignedTo\":\"" + hotelDataGenerator.staffName(id(staff) - 1)
+                + "\",\"status\":\"Open\"}"));
+        s.put("POST /guestservice/add", () -> post(baseUrl, "/guestservice/add", "{\"requestId\":\"LT-" + run + "-"
+                + sequence.incrementAndGet() + "\",\"guestRoom\":\"" + hotelDataGenerator.room(id(rooms) - 1)
+                + "\",\"request\":\"Extra Towels\",\"assignedStaff\":\"" + hotelDataGenerator.staffName(id(staff) - 1)
+                + "\",\"status\":\"Assigned\"}"));
+        return s;
+    }
+
+    private static String openStatus(String module) {
+        return switch (module) {
+            case "inventory" -> "Low Stock";
+            case "orders" -> "Pending";
+            case "maintenance" -> "Open";
+            default -> "In Progress";
+        };
+    }
+
+    /**
+     * Item names follow the generator: category of (id mod 5) plus the id, ids starting at 1.
+     */
+    private static String itemName(int id) {
+        String[] categories = {"Bedding", "Towels", "Toiletries", "Cleaning Supplies", "Other Consumables"};
+        return categories[id % categories.length] + " " + id;
+    }
+
+    private static int id(int count) {
+        return 1 + ThreadLocalRandom.current().nextInt(Math.max(1, count));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private static HttpRequest post(String baseUrl, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+}
@@ -0,0 +1,131 @@
+package project.flametreehotel.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import project.flametreehotel.Dto.inventoryDto;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Request body mapping on the inventory /add and /update paths: the original JSON into
+ * Map&lt;String, Object&gt; with a cast per field, against binding straight to the request
+ * records, with and without Bean Validation. No Spring context, so it isolates the Jackson,
+ * casting and validation cost; run with -prof gc to compare allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class requestMappingBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private byte[] addBody;
+    private byte[] updateBody;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        addBody = "{\"item\":\"Bath towel\",\"category\":\"Linen\",\"inStock\":120,\"minLevel\":40}"
+                .getBytes(StandardCharsets.UTF_8);
+        updateBody = ("{\"id\":42,\"item\":\"Bath towel\",\"category\":\"Linen\",\"inStock\":120,"
+                + "\"minLevel\":40,\"damaged\":3,\"missing\":1}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> parseToMap() {
+        return objectMapper.readValue(addBody, Map.class);
+    }
+
+    /**
+     * Mirrors inventroyController.addInventory up to the service call.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void addInventoryMapping(Blackhole blackhole) {
+        Map<String, Object> body = objectMapper.readValue(addBody, Map.class);
+        String item = (String) body.get("item");
+        String category = (String) body.get("category");
+        int inStock = body.get("inStock") != null ? ((Number) body.get("inStock")).intValue() : 0;
+        int minLevel = body.get("minLevel") != null ? ((Number) body.get("minLevel")).intValue() : 0;
+        blackhole.consume(item.trim());
+        blackhole.consume(category);
+        blackhole.consume(inStock);
+        blackhole.consume(minLevel);
+    }
+
+    /**
+     * Mirrors inventroyController.updateInventory up to the service call.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void updateInventoryMapping(Blackhole blackhole) {
+        Map<String, Object> body = objectMapper.readValue(updateBody, Map.class);
+        int id = ((Number) body.get("id")).intValue();
+        String item = (String) body.get("item");
+        String category = (String) body.get("category");
+        int inStock = body.get("inStock") != null ? ((Number) body.get("inStock")).intValue() : 0;
+        int minLevel = body.get("minLevel") != null ? ((Number) body.get("minLevel")).intValue() : 0;
+        int damaged = body.get("damaged") != null ? ((Number) body.get("damaged")).intValue() : 0;
+        int missing = body.get("missing") != null ? ((Number) body.get("missing")).intValue() : 0;
+        blackhole.consume(id);
+        blackhole.consume(item.trim());
+        blackhole.consume(category);
+        blackhole.consume(inStock + minLevel + damaged + missing);
+    }
+
+    @Benchmark
+    public inventoryDto.add addInventoryRecord() {
+        return objectMapper.readValue(addBody, inventoryDto.add.class);
+    }
+
+    @Benchmark
+    public inventoryDto.update updateInventoryRecord() {
+        return objectMapper.readValue(updateBody, inventoryDto.update.class);
+    }
+
+    /**
+     * Record binding plus the @Valid check the controller runs before the service call.
+     */
+    @Benchmark
+    public void addInventoryRecordValidated(Blackhole blackhole) {
+        inventoryDto.add body = objectMapper.readValue(addBody, inventoryDto.add.class);
+        blackhole.consume(validator.validate(body));
+        blackhole.consume(body.item().trim());
+    }
+
+    @Benchmark
+    public void updateInventoryRecordValidated(Blackhole blackhole) {
+        inventoryDto.update body = objectMapper.readValue(updateBody, inventoryDto.update.class);
+        blackhole.consume(validator.validate(body));
+        blackhole.consume(body.item().trim());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+}
@@ -0,0 +1,60 @@
+package project.flametreehotel.bench;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.flametreehotel.Model.inventory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Entity list serialization as the /list endpoints do it: the rows wrapped in the usual
+ * { success, items, nextCursor } HashMap and written to a byte array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class serializationBenchmark {
+
+    @Param({"50", "1000", "10000"})
+    public int rows;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<inventory> items;
+
+    @Setup
+    public void setUp() {
+        items = benchContext.items(rows);
+    }
+
+    @Benchmark
+    public byte[] listResponse() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("items", items);
+        response.put("nextCursor", null);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] rowsOnly() {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
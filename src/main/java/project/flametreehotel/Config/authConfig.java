@@ -0,0 +1,27 @@
+package project.flametreehotel.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class authConfig {
+
+    /**
+     * BCrypt encoder with the configured cost factor. One hash is timed at startup so the
+     * per-login verification cost is visible in the log when tuning hotel.auth.bcrypt-strength.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${hotel.auth.bcrypt-strength:10}") int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        log.info("BCrypt strength {} costs {} ms per password check", strength, (System.nanoTime() - start) / 1_000_000);
+        return encoder;
+    }
+}
@@ -0,0 +1,109 @@
+package project.flametreehotel.Config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import project.flametreehotel.Services.sqlStats;
+
+@Configuration
+public class sqlStatsConfig {
+
+    /**
+     * Hooks the per-request SQL statistics into Hibernate: the statement inspector sees
+     * every SQL string, the session listener brackets each JDBC execution, and a post-load
+     * listener counts entities materialised from result sets. JdbcTemplate batch paths
+     * bypass Hibernate and are not counted.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                sqlStats.statement(sql);
+                return sql;
+            });
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, timing.class.getName());
+            properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new loadCounter()));
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlStatsFilter(sqlStats stats) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                long start = System.nanoTime();
+                stats.begin(request.getMethod());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    stats.finish(request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)"),
+                            response.getStatus(), System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Instantiated by Hibernate for every session.
+     */
+    public static class timing implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            sqlStats.executeStart();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            sqlStats.executeEnd();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            sqlStats.executeStart();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            sqlStats.executeEnd();
+        }
+    }
+
+    private static class loadCounter implements Integrator, PostLoadEventListener {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, this);
+        }
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            sqlStats.loaded();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package project.flametreehotel.Config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Serves src/main/resources/static in place of Boot's default handler
+ * (spring.web.resources.add-mappings=false). CSS and JS are addressed by content hash, e.g.
+ * Inventory-3f2a....css: the pages' own href/src links are rewritten to the hashed names as
+ * they are served, and a hashed URL is cached for a year since its content can never change.
+ * Pages and plain URLs are no-cache and revalidated with an ETag of the served content, so
+ * a deploy that changes a stylesheet also changes the page that links it.
+ */
+@Configuration
+public class staticAssetsConfig implements WebMvcConfigurer {
+
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(staticAssetsConfig::contentTag)
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**/*.css", "/**/*.js"))
+                .addTransformer(new assetLinks());
+    }
+
+    /**
+     * Strong ETag for rewritten content (pages, and CSS after its url() links are hashed);
+     * anything else falls back to Last-Modified.
+     */
+    private static String contentTag(Resource resource) {
+        if (resource instanceof TransformedResource transformed) {
+            return "\"" + DigestUtils.md5DigestAsHex(transformed.getByteArray()) + "\"";
+        }
+        return null;
+    }
+
+    /**
+     * Rewrites relative stylesheet and script links in pages to their hashed URLs, and marks
+     * anything requested by hashed URL as immutable. Runs ahead of the CSS link transformer
+     * the chain adds for url() references.
+     */
+    private static final class assetLinks extends ResourceTransformerSupport {
+
+        private static final Pattern LINK = Pattern.compile("(?i)\\b(href|src)=\"([^\":?#]+\\.(?:css|js))\"");
+
+        @Override
+        public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+                throws IOException {
+            Resource transformed = chain.transform(request, resource);
+            String name = resource.getFilename();
+            if (name != null && name.toLowerCase().endsWith(".html")) {
+                return rewritePage(request, resource, transformed, chain);
+            }
+            // The version resolver only returns an HttpResource for a hashed request path.
+            if (resource instanceof HttpResource) {
+                return new immutableAsset(resource, bytes(transformed));
+            }
+            return transformed;
+        }
+
+        private Resource rewritePage(HttpServletRequest request, Resource page, Resource content,
+                                     ResourceTransformerChain chain) throws IOException {
+            String html = new String(bytes(content), StandardCharsets.UTF_8);
+            Matcher link = LINK.matcher(html);
+            StringBuilder out = new StringBuilder(html.length() + 256);
+            while (link.find()) {
+                String target = link.group(2);
+                String hashed = target.startsWith("//") ? null : resolveUrlPath(target, request, page, chain);
+                link.appendReplacement(out, Matcher.quoteReplacement(
+                        link.group(1) + "=\"" + (hashed != null ? hashed : target) + "\""));
+            }
+            link.appendTail(out);
+            return new TransformedResource(page, out.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static byte[] bytes(Resource resource) throws IOException {
+            return resource instanceof TransformedResource transformed
+                    ? transformed.getByteArray()
+                    : resource.getContentAsByteArray();
+        }
+    }
+
+    private static final class immutableAsset extends TransformedResource implements HttpResource {
+
+        immutableAsset(Resource original, byte[] content) {
+            super(original, content);
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package project.flametreehotel.Config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+public class threadingConfig {
+
+    private final Environment environment;
+
+    /**
+     * Logs the request threading mode next to the connection pool limits. With
+     * spring.threads.virtual.enabled (Java 21+) Tomcat, @Async and @Scheduled run on virtual
+     * threads and the thread pool no longer caps concurrency, so the Hikari pool is what
+     * queues a burst; the two are printed together to keep them tuned as a pair.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreading() {
+        String pool = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        String wait = environment.getProperty("spring.datasource.hikari.connection-timeout", "30000");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Request threads: virtual; database pool {} connections, max wait {} ms", pool, wait);
+        } else {
+            log.info("Request threads: platform (max {}); database pool {} connections, max wait {} ms",
+                    environment.getProperty("server.tomcat.threads.max", "200"), pool, wait);
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled is set but needs Java 21+; using platform threads");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package project.flametreehotel.Controllers;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import project.flametreehotel.Dto.apiError;
+
+/**
+ * Turns rejected request bodies into the same { success: false, message } shape the
+ * controllers return for service errors, with the per-field messages under "errors".
+ */
+@RestControllerAdvice
+public class apiErrors {
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<apiError> invalid(MethodArgumentNotValidException e) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        Set<String> messages = new LinkedHashSet<>();
+        for (FieldError error : e.getBindingResult().getFieldErrors()) {
+            errors.putIfAbsent(error.getField(), error.getDefaultMessage());
+            messages.add(error.getDefaultMessage());
+        }
+        return ResponseEntity.badRequest().body(new apiError(String.join(" ", messages), errors));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<apiError> unreadable(HttpMessageNotReadableException e) {
+        return ResponseEntity.badRequest().body(new apiError("Request body is missing or malformed.", Map.of()));
+    }
+}
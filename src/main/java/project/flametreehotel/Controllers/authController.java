@@ -1,11 +1,17 @@
 package project.flametreehotel.Controllers;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.authDto;
 import project.flametreehotel.Model.users;
+import project.flametreehotel.Repository.userRow;
 import project.flametreehotel.Services.authService;
+import project.flametreehotel.Services.sessionTokens;
 
 import java.util.HashMap;
 import java.util.List;
@@ -17,33 +23,47 @@ import java.util.Map;
 public class authController {
 
     private final authService service;
+    private final sessionTokens tokens;
 
     /**
      * POST /auth/login
      * Body: { "username": "...", "password": "...", "role": "..." }
-     * Returns { "success": true } or { "success": false, "message": "..." }
+     * Returns { "success": true, "token": "..." } or { "success": false, "message": "..." }
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> body) {
+    public ResponseEntity<?> login(@Valid @RequestBody authDto.login body) {
+        users user = service.login(body.username(), body.password(), body.role());
+        if (user == null) {
+            return ResponseEntity.status(401).body(apiResult.error("Invalid credentials, incorrect role, or account is inactive."));
+        }
+
         Map<String, Object> response = new HashMap<>();
-        String username = body.get("username");
-        String password = body.get("password");
-        String role = body.get("role");
+        response.put("success", true);
+        response.put("token", tokens.issue(user));
+        return ResponseEntity.ok(response);
+    }
 
-        if (username == null || password == null || role == null) {
-            response.put("success", false);
-            response.put("message", "Username, password, and role are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /auth/session
+     * Header: Authorization: Bearer <token>
+     * Returns { "success": true, "username": "...", "role": "..." } from the signed token alone, without a database lookup.
+     */
+    @GetMapping("/session")
+    public ResponseEntity<Map<String, Object>> session(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        Map<String, Object> response = new HashMap<>();
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
 
-        users user = service.login(username, password, role);
-        if (user == null) {
+        sessionTokens.session session = tokens.verify(token);
+        if (session == null) {
             response.put("success", false);
-            response.put("message", "Invalid credentials, incorrect role, or account is inactive.");
+            response.put("message", "Session is missing, invalid, or expired.");
             return ResponseEntity.status(401).body(response);
         }
 
         response.put("success", true);
+        response.put("username", session.username());
+        response.put("role", session.role());
+        response.put("expiresAt", session.expiresAt());
         return ResponseEntity.ok(response);
     }
 
@@ -53,28 +73,12 @@ public class authController {
      * Returns { "success": true } or { "success": false, "message": "..." }
      */
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@RequestBody Map<String, String> body) {
-        Map<String, Object> response = new HashMap<>();
-        String username = body.get("username");
-        String staffEmail = body.get("staffEmail");
-        String password = body.get("password");
-        String role = body.get("role");
-
-        if (username == null || staffEmail == null || password == null) {
-            response.put("success", false);
-            response.put("message", "Username, staff email, and password are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
+    public ResponseEntity<apiResult> register(@Valid @RequestBody authDto.register body) {
         try {
-            service.createUser(username, staffEmail, password, role);
-            response.put("success", true);
-            response.put("message", "Account created successfully.");
-            return ResponseEntity.ok(response);
+            service.createUser(body.username(), body.staffEmail(), body.password(), body.role());
+            return ResponseEntity.ok(apiResult.ok("Account created successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -84,26 +88,14 @@ public class authController {
      * Returns { "success": true } or { "success": false, "message": "..." }
      */
     @PutMapping("/assign-role")
-    public ResponseEntity<Map<String, Object>> assignRole(@RequestBody Map<String, String> body) {
-        Map<String, Object> response = new HashMap<>();
-        String username = body.get("username");
-        String role = body.get("role");
-
-        if (username == null || role == null || role.isEmpty()) {
-            response.put("success", false);
-            response.put("message", "Username and role are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
+    public ResponseEntity<apiResult> assignRole(@Valid @RequestBody authDto.assignRole body) {
         try {
-            service.assignRole(username, role);
-            response.put("success", true);
-            response.put("message", "Role assigned successfully.");
-            return ResponseEntity.ok(response);
+            service.assignRole(body.username(), body.role());
+            return ResponseEntity.ok(apiResult.ok("Role assigned successfully."));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error("Account was changed by someone else. Reload it and try again."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -113,28 +105,15 @@ public class authController {
      * Returns { "success": true } or { "success": false, "message": "..." }
      */
     @PutMapping("/status")
-    public ResponseEntity<Map<String, Object>> setStatus(@RequestBody Map<String, String> body) {
-        Map<String, Object> response = new HashMap<>();
-        String username = body.get("username");
-        String activeStr = body.get("active");
-
-        if (username == null || activeStr == null) {
-            response.put("success", false);
-            response.put("message", "Username and active status are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        boolean active = Boolean.parseBoolean(activeStr);
-
+    public ResponseEntity<apiResult> setStatus(@Valid @RequestBody authDto.status body) {
+        boolean active = body.active();
         try {
-            service.setStatus(username, active);
-            response.put("success", true);
-            response.put("message", "Account " + (active ? "activated" : "deactivated") + " successfully.");
-            return ResponseEntity.ok(response);
+            service.setStatus(body.username(), active);
+            return ResponseEntity.ok(apiResult.ok("Account " + (active ? "activated" : "deactivated") + " successfully."));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error("Account was changed by someone else. Reload it and try again."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -143,16 +122,7 @@ public class authController {
      * Returns a list of all users (username, role, status) for manager dashboard.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
-        List<users> users = service.getAllUsers();
-        List<Map<String, Object>> result = users.stream().map(u -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("username", u.getUsername());
-            map.put("staffEmail", u.getStaffEmail());
-            map.put("role", u.getRole());
-            map.put("status", u.isStatus());
-            return map;
-        }).toList();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<userRow>> getAllUsers() {
+        return ResponseEntity.ok(service.getAllUsers());
     }
 }
@@ -0,0 +1,95 @@
+package project.flametreehotel.Controllers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import project.flametreehotel.Services.bulkRows;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Shared plumbing for the /import and /export endpoints: request bodies are read as a
+ * stream and responses are written row by row, so neither side buffers the whole table.
+ */
+final class bulkSupport {
+
+    static final String CSV = "text/csv";
+    static final String NDJSON = "application/x-ndjson";
+
+    private bulkSupport() {
+    }
+
+    static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    static boolean isCsv(String contentType) {
+        return contentType != null && contentType.toLowerCase().startsWith(CSV);
+    }
+
+    static ResponseEntity<Map<String, Object>> importResponse(bulkRows.importResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Imported " + result.inserted() + " rows, skipped " + result.skipped() + ".");
+        response.put("inserted", result.inserted());
+        response.put("skipped", result.skipped());
+        response.put("errors", result.errors());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams rows as CSV (header first) or as one JSON object per line. The source is
+     * called on the response thread and pushes each row to the writer as it is read.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> export(String name, String format, String[] columns,
+                                                            Function<T, Object[]> values,
+                                                            Consumer<Consumer<T>> source,
+                                                            ObjectMapper objectMapper) {
+        boolean csv = !"ndjson".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(String.join(",", columns));
+                writer.write('\n');
+                writer.flush();
+            }
+            source.accept(row -> {
+                try {
+                    if (csv) {
+                        Object[] fields = values.apply(row);
+                        for (int i = 0; i < fields.length; i++) {
+                            if (i > 0) writer.write(',');
+                            writer.write(bulkRows.csv(fields[i]));
+                        }
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? CSV : NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+}
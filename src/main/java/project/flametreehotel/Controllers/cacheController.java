@@ -0,0 +1,28 @@
+package project.flametreehotel.Controllers;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Services.entityCache;
+
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class cacheController {
+
+    private final entityCache cache;
+
+    /**
+     * GET /cache/stats
+     * Returns size, hits, misses, hit rate and evictions for each entity cache.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getStats() {
+        return ResponseEntity.ok(cache.stats());
+    }
+}
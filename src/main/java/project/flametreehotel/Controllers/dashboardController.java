@@ -0,0 +1,43 @@
+package project.flametreehotel.Controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Services.guestService;
+import project.flametreehotel.Services.housekeepingService;
+import project.flametreehotel.Services.inventoryService;
+import project.flametreehotel.Services.maintenanceService;
+import project.flametreehotel.Services.ordersService;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+public class dashboardController {
+
+    private final guestService guestService;
+    private final housekeepingService housekeepingService;
+    private final inventoryService inventoryService;
+    private final maintenanceService maintenanceService;
+    private final ordersService ordersService;
+
+    /**
+     * GET /dashboard/summary
+     * Returns the per-status counts of every module for the manager and supervisor dashboards.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getSummary() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("guestservice", guestService.getMetrics());
+        response.put("housekeeping", housekeepingService.getMetrics());
+        response.put("inventory", inventoryService.getMetrics());
+        response.put("maintenance", maintenanceService.getMetrics());
+        response.put("orders", ordersService.getMetrics());
+        return ResponseEntity.ok(response);
+    }
+}
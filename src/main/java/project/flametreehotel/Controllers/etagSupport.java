@@ -0,0 +1,31 @@
+package project.flametreehotel.Controllers;
+
+/**
+ * ETags for single-record responses, derived from the row's @Version. Spring answers a
+ * matching If-None-Match on GET with 304 on its own when the ETag is set on the
+ * ResponseEntity; update endpoints read the same value back from If-Match.
+ */
+final class etagSupport {
+
+    private etagSupport() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the version the client last saw. A missing header or
+     * "*" means an unconditional update and returns null.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid If-Match header.");
+        }
+    }
+}
@@ -1,110 +1,234 @@
 package project.flametreehotel.Controllers;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.guestDto;
+import project.flametreehotel.Dto.idRequest;
 import project.flametreehotel.Model.guest;
+import project.flametreehotel.Repository.guestRow;
 import project.flametreehotel.Services.guestService;
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.changeSet;
+import project.flametreehotel.Services.statusMetrics;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/guestservice")
 @RequiredArgsConstructor
 public class guestserviceController {
 
+    private static final int MAX_QUEUE_ROWS = 200;
+
     private final guestService service;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final listWriter lists;
 
     /**
-     * GET /guestservice/list
-     * Returns all guest service requests from the database.
+     * GET /guestservice/list?after=&limit=&status=&assignedStaff=&format=compact
+     * Returns one page of guest service requests plus the cursor for the next page.
+     * format=compact returns { columns, rows } with each row as an array in column order.
+     * Carries a weak ETag that only changes when the module is written; a matching If-None-Match gets 304.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<guest>> listGuestServices() {
-        return ResponseEntity.ok(service.getAllRequests());
+    public ResponseEntity<?> listGuestServices(@RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String status,
+                                               @RequestParam(required = false) String assignedStaff,
+                                               @RequestParam(required = false) String format,
+                                               WebRequest request) {
+        if (lists.notModified("guest", request)) return null;
+        try {
+            return lists.write(service.listRequests(after, limit, status, assignedStaff), guestRow.class, format, guestRow.COLUMNS, guestRow::toArray);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
-     * POST /guestservice/add
-     * Body: { "requestId": "...", "guestRoom": "...", "request": "...", "assignedStaff": "...", "status": "..." }
+     * GET /guestservice/metrics
+     * Returns guest service request counts per status from the in-memory counters; no database query.
      */
-    @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addGuestService(@RequestBody Map<String, Object> body) {
+    @GetMapping("/metrics")
+    public ResponseEntity<statusMetrics> getGuestServiceMetrics() {
+        return ResponseEntity.ok(service.getMetrics());
+    }
+
+    /**
+     * GET /guestservice/next?department=&limit=
+     * The department's next requests to serve, highest priority then earliest deadline, from
+     * the in-memory SLA queue. Without department, the next request of every department.
+     */
+    @GetMapping("/next")
+    public ResponseEntity<Map<String, Object>> getNext(@RequestParam(required = false) String department,
+                                                       @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        if (department == null || department.isBlank()) {
+            response.put("departments", service.nextPerDepartment());
+        } else {
+            response.put("items", service.nextRequests(department.trim(), clamp(limit, 1, MAX_QUEUE_ROWS)));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /guestservice/breaching?within=&limit=
+     * Open requests past their SLA deadline, or due within the next within minutes (default 0),
+     * earliest deadline first, from the in-memory SLA queue.
+     */
+    @GetMapping("/breaching")
+    public ResponseEntity<Map<String, Object>> getBreaching(@RequestParam(defaultValue = "0") int within,
+                                                            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("items", service.breaching(Math.max(0, within), clamp(limit, MAX_QUEUE_ROWS, MAX_QUEUE_ROWS)));
+        return ResponseEntity.ok(response);
+    }
 
-        String requestId = (String) body.get("requestId");
-        String guestRoom = (String) body.get("guestRoom");
-        String request = (String) body.get("request");
-        String assignedStaff = (String) body.get("assignedStaff");
-        String status = (String) body.get("status");
+    private static int clamp(Integer limit, int fallback, int max) {
+        return limit == null || limit < 1 ? fallback : Math.min(limit, max);
+    }
 
-        if (requestId == null || requestId.isBlank() || guestRoom == null || guestRoom.isBlank()
-                || request == null || request.isBlank() || assignedStaff == null || assignedStaff.isBlank()
-                || status == null || status.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /guestservice/changes?since=&limit=
+     * Delta sync: rows saved and ids deleted after change sequence since, plus the next
+     * sequence to ask for. reset = true means reload the full list, then continue from next.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        changeSet<guest> changes = service.changesSince(since, limit);
+        response.put("success", true);
+        response.put("saved", changes.saved());
+        response.put("deleted", changes.deleted());
+        response.put("next", changes.next());
+        response.put("more", changes.more());
+        response.put("reset", changes.reset());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /guestservice/events
+     * Server-Sent Events stream of guest request changes ("saved", "deleted", "reload").
+     * Reconnects resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return feed.subscribe("guest", lastEventId);
+    }
+
+    /**
+     * GET /guestservice/{id}
+     * Returns a single guest service request with an ETag; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Map<String, Object>> getGuestService(@PathVariable int id) {
+        Map<String, Object> response = new HashMap<>();
 
         try {
-            guest created = service.addRequest(requestId.trim(), guestRoom.trim(), request.trim(), assignedStaff.trim(), status);
+            guest found = service.getRequest(id);
             response.put("success", true);
-            response.put("message", "Added request " + created.getRequestId() + ".");
-            response.put("request", created);
-            return ResponseEntity.ok(response);
+            response.put("request", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.status(404).body(response);
         }
     }
 
     /**
-     * POST /guestservice/update
-     * Body: { "id": 1, "requestId": "...", "guestRoom": "...", "request": "...", "assignedStaff": "...", "status": "..." }
+     * GET /guestservice/request/{requestId}
+     * Returns a single guest service request with an ETag; a matching If-None-Match gets 304.
      */
-    @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateGuestService(@RequestBody Map<String, Object> body) {
+    @GetMapping("/request/{requestId}")
+    public ResponseEntity<Map<String, Object>> getGuestServiceByRequestId(@PathVariable String requestId) {
         Map<String, Object> response = new HashMap<>();
 
-        if (body.get("id") == null) {
+        try {
+            guest found = service.findRequestByRequestId(requestId);
+            response.put("success", true);
+            response.put("request", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
+        } catch (RuntimeException e) {
             response.put("success", false);
-            response.put("message", "Record ID is required.");
-            return ResponseEntity.badRequest().body(response);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
-        String requestId = (String) body.get("requestId");
-        String guestRoom = (String) body.get("guestRoom");
-        String request = (String) body.get("request");
-        String assignedStaff = (String) body.get("assignedStaff");
-        String status = (String) body.get("status");
+    /**
+     * GET /guestservice/export?format=ndjson|csv
+     * Streams every guest request, one JSON object per line by default; rows are written as they are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRequests(@RequestParam(defaultValue = "ndjson") String format) {
+        return bulkSupport.<guest>export("guest", format,
+                new String[] {"requestId", "guestRoom", "request", "assignedStaff", "status"},
+                g -> new Object[] {g.getRequestId(), g.getGuestRoom(), g.getRequest(), g.getAssignedStaff(), g.getStatus()},
+                service::exportRequests, objectMapper);
+    }
 
-        if (requestId == null || requestId.isBlank() || guestRoom == null || guestRoom.isBlank()
-                || request == null || request.isBlank() || assignedStaff == null || assignedStaff.isBlank()
-                || status == null || status.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
+    /**
+     * POST /guestservice/add
+     * Body: { "requestId": "...", "guestRoom": "...", "request": "...", "assignedStaff": "...", "status": "...",
+     *         "priority": "Low|Normal|High|Urgent" (optional), "department": "..." (optional) }
+     */
+    @PostMapping("/add")
+    public ResponseEntity<?> addGuestService(@Valid @RequestBody guestDto.add body) {
+        try {
+            guest created = service.addRequest(body.requestId().trim(), body.guestRoom().trim(), body.request().trim(),
+                    body.assignedStaff().trim(), body.status(), body.priority(), body.department());
+            return ResponseEntity.ok(guestDto.result.ok("Added request " + created.getRequestId() + ".", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
+    }
 
+    /**
+     * POST /guestservice/update
+     * Body: { "id": 1, "requestId": "...", "guestRoom": "...", "request": "...", "assignedStaff": "...", "status": "...",
+     *         "priority": "..." (optional), "department": "..." (optional) }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
+     */
+    @PostMapping("/update")
+    public ResponseEntity<?> updateGuestService(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @Valid @RequestBody guestDto.update body) {
         try {
-            guest updated = service.updateRequest(id, requestId.trim(), guestRoom.trim(), request.trim(), assignedStaff.trim(), status);
-            response.put("success", true);
-            response.put("message", "Updated request " + updated.getRequestId() + ".");
-            response.put("request", updated);
-            return ResponseEntity.ok(response);
+            guest updated = service.updateRequest(body.id(), body.requestId().trim(), body.guestRoom().trim(), body.request().trim(),
+                    body.assignedStaff().trim(), body.status(), body.priority(), body.department(),
+                    etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion()))
+                    .body(guestDto.result.ok("Updated request " + updated.getRequestId() + ".", updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -113,26 +237,12 @@ public class guestserviceController {
      * Body: { "id": 1 }
      */
     @PostMapping("/delete")
-    public ResponseEntity<Map<String, Object>> deleteGuestService(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null) {
-            response.put("success", false);
-            response.put("message", "Record ID is required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        int id = ((Number) body.get("id")).intValue();
-
+    public ResponseEntity<apiResult> deleteGuestService(@Valid @RequestBody idRequest body) {
         try {
-            service.deleteRequest(id);
-            response.put("success", true);
-            response.put("message", "Request deleted successfully.");
-            return ResponseEntity.ok(response);
+            service.deleteRequest(body.id());
+            return ResponseEntity.ok(apiResult.ok("Request deleted successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 }
@@ -4,16 +4,35 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.approvalRequest;
+import project.flametreehotel.Dto.housekeepingDto;
+import project.flametreehotel.Dto.idRequest;
 import project.flametreehotel.Model.housekeeping;
+import project.flametreehotel.Repository.housekeepingRow;
 import project.flametreehotel.Services.housekeepingService;
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.changeSet;
+import project.flametreehotel.Services.statusMetrics;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/housekeeping")
@@ -21,128 +40,196 @@ import project.flametreehotel.Services.housekeepingService;
 public class housekeepingController {
 
     private final housekeepingService service;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final listWriter lists;
 
     /**
-     * GET /housekeeping/list
-     * Returns all housekeeping tasks from the database.
+     * GET /housekeeping/list?after=&limit=&status=&assignedStaff=&format=compact
+     * Returns one page of housekeeping tasks plus the cursor for the next page.
+     * format=compact returns { columns, rows } with each row as an array in column order.
+     * Carries a weak ETag that only changes when the module is written; a matching If-None-Match gets 304.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<housekeeping>> listHousekeeping() {
-        return ResponseEntity.ok(service.getAllTasks());
+    public ResponseEntity<?> listHousekeeping(@RequestParam(required = false) String after,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String status,
+                                              @RequestParam(required = false) String assignedStaff,
+                                              @RequestParam(required = false) String format,
+                                              WebRequest request) {
+        if (lists.notModified("housekeeping", request)) return null;
+        try {
+            return lists.write(service.listTasks(after, limit, status, assignedStaff), housekeepingRow.class, format, housekeepingRow.COLUMNS, housekeepingRow::toArray);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
-     * POST /housekeeping/add
-     * Body: { "requestId": "...", "room": "...", "requestType": "...", "assignedStaff": "...", "taskStatus": "..." }
+     * GET /housekeeping/metrics
+     * Returns housekeeping task counts per status from the in-memory counters; no database query.
      */
-    @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addHousekeeping(@RequestBody Map<String, Object> body) {
+    @GetMapping("/metrics")
+    public ResponseEntity<statusMetrics> getHousekeepingMetrics() {
+        return ResponseEntity.ok(service.getMetrics());
+    }
+
+    /**
+     * GET /housekeeping/changes?since=&limit=
+     * Delta sync: rows saved and ids deleted after change sequence since, plus the next
+     * sequence to ask for. reset = true means reload the full list, then continue from next.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam long since,
+                                                          @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
+        changeSet<housekeeping> changes = service.changesSince(since, limit);
+        response.put("success", true);
+        response.put("saved", changes.saved());
+        response.put("deleted", changes.deleted());
+        response.put("next", changes.next());
+        response.put("more", changes.more());
+        response.put("reset", changes.reset());
+        return ResponseEntity.ok(response);
+    }
 
-        String requestId = (String) body.get("requestId");
-        String room = (String) body.get("room");
-        String requestType = (String) body.get("requestType");
-        String assignedStaff = (String) body.get("assignedStaff");
-        String taskStatus = (String) body.get("taskStatus");
+    /**
+     * GET /housekeeping/events
+     * Server-Sent Events stream of housekeeping task changes ("saved", "deleted", "reload").
+     * Reconnects resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return feed.subscribe("housekeeping", lastEventId);
+    }
 
-        if (requestId == null || requestId.isBlank() || room == null || room.isBlank()
-                || requestType == null || requestType.isBlank() || assignedStaff == null || assignedStaff.isBlank()
-                || taskStatus == null || taskStatus.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /housekeeping/{id}
+     * Returns a single task with an ETag; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Map<String, Object>> getHousekeeping(@PathVariable int id) {
+        Map<String, Object> response = new HashMap<>();
 
         try {
-            housekeeping created = service.addTask(requestId.trim(), room.trim(), requestType, assignedStaff.trim(), taskStatus);
+            housekeeping found = service.getTask(id);
             response.put("success", true);
-            response.put("message", "Added task " + created.getRequestId() + ".");
-            response.put("task", created);
-            return ResponseEntity.ok(response);
+            response.put("task", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.status(404).body(response);
         }
     }
 
     /**
-     * POST /housekeeping/update
-     * Body: { "id": 1, "requestId": "...", "room": "...", "requestType": "...", "assignedStaff": "...", "taskStatus": "..." }
+     * GET /housekeeping/request/{requestId}
+     * Returns a single task with an ETag; a matching If-None-Match gets 304.
      */
-    @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateHousekeeping(@RequestBody Map<String, Object> body) {
+    @GetMapping("/request/{requestId}")
+    public ResponseEntity<Map<String, Object>> getHousekeepingByRequestId(@PathVariable String requestId) {
         Map<String, Object> response = new HashMap<>();
 
-        if (body.get("id") == null) {
+        try {
+            housekeeping found = service.findTaskByRequestId(requestId);
+            response.put("success", true);
+            response.put("task", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
+        } catch (RuntimeException e) {
             response.put("success", false);
-            response.put("message", "Task ID is required.");
-            return ResponseEntity.badRequest().body(response);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
-        String requestId = (String) body.get("requestId");
-        String room = (String) body.get("room");
-        String requestType = (String) body.get("requestType");
-        String assignedStaff = (String) body.get("assignedStaff");
-        String taskStatus = (String) body.get("taskStatus");
+    /**
+     * GET /housekeeping/export?format=ndjson|csv
+     * Streams every task, one JSON object per line by default; rows are written as they are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        return bulkSupport.<housekeeping>export("housekeeping", format,
+                new String[] {"requestId", "room", "requestType", "assignedStaff", "taskStatus", "approved"},
+                h -> new Object[] {h.getRequestId(), h.getRoom(), h.getRequestType(), h.getAssignedStaff(), h.getTaskStatus(), h.isApproved()},
+                service::exportTasks, objectMapper);
+    }
 
-        if (requestId == null || requestId.isBlank() || room == null || room.isBlank()
-                || requestType == null || requestType.isBlank() || assignedStaff == null || assignedStaff.isBlank()
-                || taskStatus == null || taskStatus.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
+    /**
+     * POST /housekeeping/add
+     * Body: { "requestId": "...", "room": "...", "requestType": "...", "assignedStaff": "...", "taskStatus": "..." }
+     * Leave assignedStaff out or blank to have the turnover scheduler pick the housekeeper.
+     */
+    @PostMapping("/add")
+    public ResponseEntity<?> addHousekeeping(@Valid @RequestBody housekeepingDto.add body) {
+        try {
+            housekeeping created = service.addTask(body.requestId().trim(), body.room().trim(), body.requestType(),
+                    body.assignedStaff() != null ? body.assignedStaff().trim() : null, body.taskStatus());
+            return ResponseEntity.ok(housekeepingDto.result.ok("Added task " + created.getRequestId()
+                    + " for " + created.getAssignedStaff() + ".", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
+    }
 
+    /**
+     * POST /housekeeping/wave
+     * Body: { "rooms": ["301", "302", ...], "requestType": "Room Cleaning" }
+     * Creates one Assigned task per room, spread over the active housekeeping staff by load and floor.
+     */
+    @PostMapping("/wave")
+    public ResponseEntity<?> addWave(@Valid @RequestBody housekeepingDto.wave body) {
         try {
-            housekeeping updated = service.updateTask(id, requestId.trim(), room.trim(), requestType, assignedStaff.trim(), taskStatus);
-            response.put("success", true);
-            response.put("message", "Updated task " + updated.getRequestId() + ".");
-            response.put("task", updated);
-            return ResponseEntity.ok(response);
+            List<housekeeping> created = service.addWave(body.rooms().stream().map(String::trim).toList(), body.requestType());
+            return ResponseEntity.ok(housekeepingDto.waveResult.ok("Assigned " + created.size() + " rooms.", created));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /housekeeping/update
+     * Body: { "id": 1, "requestId": "...", "room": "...", "requestType": "...", "assignedStaff": "...", "taskStatus": "..." }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
+     */
+    @PostMapping("/update")
+    public ResponseEntity<?> updateHousekeeping(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @Valid @RequestBody housekeepingDto.update body) {
+        try {
+            housekeeping updated = service.updateTask(body.id(), body.requestId().trim(), body.room().trim(), body.requestType(),
+                    body.assignedStaff().trim(), body.taskStatus(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion()))
+                    .body(housekeepingDto.result.ok("Updated task " + updated.getRequestId() + ".", updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
     /**
      * POST /housekeeping/approve
      * Body: { "id": 1, "approved": true, "role": "Manager" }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
      */
     @PostMapping("/approve")
-    public ResponseEntity<Map<String, Object>> approveHousekeeping(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null || body.get("approved") == null) {
-            response.put("success", false);
-            response.put("message", "Task ID and approved value are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        String role = String.valueOf(body.getOrDefault("role", "")).trim();
-        boolean allowed = "Manager".equalsIgnoreCase(role) || "Staff Supervisor".equalsIgnoreCase(role);
-        if (!allowed) {
-            response.put("success", false);
-            response.put("message", "Only manager or supervisor can approve tasks.");
-            return ResponseEntity.status(403).body(response);
+    public ResponseEntity<?> approveHousekeeping(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody approvalRequest body) {
+        if (!body.allowed()) {
+            return ResponseEntity.status(403).body(apiResult.error("Only manager or supervisor can approve tasks."));
         }
 
-        int id = ((Number) body.get("id")).intValue();
-        boolean approved = Boolean.parseBoolean(String.valueOf(body.get("approved")));
-
         try {
-            housekeeping updated = service.setApproval(id, approved);
-            response.put("success", true);
-            response.put("message", "Task " + updated.getRequestId() + (approved ? " approved." : " unapproved."));
-            response.put("task", updated);
-            return ResponseEntity.ok(response);
+            housekeeping updated = service.setApproval(body.id(), body.approved(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion())).body(housekeepingDto.result.ok(
+                    "Task " + updated.getRequestId() + (body.approved() ? " approved." : " unapproved."), updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -151,26 +238,12 @@ public class housekeepingController {
      * Body: { "id": 1 }
      */
     @PostMapping("/delete")
-    public ResponseEntity<Map<String, Object>> deleteHousekeeping(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null) {
-            response.put("success", false);
-            response.put("message", "Task ID is required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        int id = ((Number) body.get("id")).intValue();
-
+    public ResponseEntity<apiResult> deleteHousekeeping(@Valid @RequestBody idRequest body) {
         try {
-            service.deleteTask(id);
-            response.put("success", true);
-            response.put("message", "Task deleted successfully.");
-            return ResponseEntity.ok(response);
+            service.deleteTask(body.id());
+            return ResponseEntity.ok(apiResult.ok("Task deleted successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 }
@@ -1,19 +1,39 @@
 package project.flametreehotel.Controllers;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.idRequest;
+import project.flametreehotel.Dto.inventoryDto;
 import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Repository.inventoryRow;
 import project.flametreehotel.Services.inventoryService;
+import project.flametreehotel.Services.bulkRows;
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.changeSet;
+import project.flametreehotel.Services.inventoryMetrics;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/inventory")
@@ -21,116 +41,222 @@ import project.flametreehotel.Services.inventoryService;
 public class inventroyController {
 
     private final inventoryService service;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final listWriter lists;
 
     /**
-     * GET /inventory/list
-     * Returns all inventory items from the database.
+     * GET /inventory/list?after=&limit=&sort=id|item&status=&category=&format=compact
+     * Returns one page of inventory items plus the cursor for the next page.
+     * format=compact returns { columns, rows } with each row as an array in column order.
+     * Carries a weak ETag that only changes when the module is written; a matching If-None-Match gets 304.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<inventory>> listInventory() {
-        return ResponseEntity.ok(service.getAllItems());
+    public ResponseEntity<?> listInventory(@RequestParam(required = false) String after,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(required = false) String status,
+                                           @RequestParam(required = false) String category,
+                                           @RequestParam(required = false) String format,
+                                           WebRequest request) {
+        if (lists.notModified("inventory", request)) return null;
+        try {
+            return lists.write(service.listItems(after, limit, sort, status, category), inventoryRow.class, format, inventoryRow.COLUMNS, inventoryRow::toArray);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
-     * POST /inventory/add
-     * Body: { "item": "...", "category": "...", "inStock": 0, "minLevel": 0 }
+     * GET /inventory/metrics
+     * Returns inventory item counts per status and damaged / missing totals from the in-memory counters; no database query.
      */
-    @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addInventory(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
+    @GetMapping("/metrics")
+    public ResponseEntity<inventoryMetrics> getInventoryMetrics() {
+        return ResponseEntity.ok(service.getMetrics());
+    }
 
-        String item = (String) body.get("item");
-        String category = (String) body.get("category");
+    /**
+     * GET /inventory/changes?since=&limit=
+     * Delta sync: rows saved and ids deleted after change sequence since, plus the next
+     * sequence to ask for. reset = true means reload the full list, then continue from next.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        changeSet<inventory> changes = service.changesSince(since, limit);
+        response.put("success", true);
+        response.put("saved", changes.saved());
+        response.put("deleted", changes.deleted());
+        response.put("next", changes.next());
+        response.put("more", changes.more());
+        response.put("reset", changes.reset());
+        return ResponseEntity.ok(response);
+    }
 
-        if (item == null || item.isBlank() || category == null || category.isBlank()) {
-            response.put("success", false);
-            response.put("message", "Item name and category are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /inventory/events
+     * Server-Sent Events stream of inventory item changes ("saved", "deleted", "reload").
+     * Reconnects resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return feed.subscribe("inventory", lastEventId);
+    }
 
-        int inStock = body.get("inStock") != null ? ((Number) body.get("inStock")).intValue() : 0;
-        int minLevel = body.get("minLevel") != null ? ((Number) body.get("minLevel")).intValue() : 0;
+    /**
+     * GET /inventory/{id}
+     * Returns a single inventory item with an ETag; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Map<String, Object>> getInventory(@PathVariable int id) {
+        Map<String, Object> response = new HashMap<>();
 
         try {
-            inventory created = service.addItem(item.trim(), category, inStock, minLevel);
+            inventory found = service.getItem(id);
             response.put("success", true);
-            response.put("message", "Added new item: " + created.getItem() + ".");
-            response.put("item", created);
-            return ResponseEntity.ok(response);
+            response.put("item", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.status(404).body(response);
         }
     }
 
     /**
-     * POST /inventory/update
-     * Body: { "id": 1, "item": "...", "category": "...", "inStock": 0, "minLevel": 0, "damaged": 0, "missing": 0 }
+     * GET /inventory/item/{item}
+     * Returns a single inventory item with an ETag; a matching If-None-Match gets 304.
      */
-    @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateInventory(@RequestBody Map<String, Object> body) {
+    @GetMapping("/item/{item}")
+    public ResponseEntity<Map<String, Object>> getInventoryByItem(@PathVariable String item) {
         Map<String, Object> response = new HashMap<>();
 
-        if (body.get("id") == null) {
+        try {
+            inventory found = service.findItemByName(item);
+            response.put("success", true);
+            response.put("item", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
+        } catch (RuntimeException e) {
             response.put("success", false);
-            response.put("message", "Item ID is required.");
-            return ResponseEntity.badRequest().body(response);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
-        String item = (String) body.get("item");
-        String category = (String) body.get("category");
-
-        if (item == null || item.isBlank() || category == null || category.isBlank()) {
+    /**
+     * POST /inventory/import
+     * Body: CSV with a header row (item,category,inStock,minLevel[,damaged,missing]) or JSON lines, one item per line.
+     * Existing items are skipped; per-line problems are reported in "errors".
+     */
+    @PostMapping(value = "/import", consumes = {bulkSupport.CSV, bulkSupport.NDJSON})
+    public ResponseEntity<Map<String, Object>> importInventory(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                               InputStream body) {
+        try {
+            bulkRows.importResult result = service.importItems(bulkSupport.reader(body), bulkSupport.isCsv(contentType));
+            return bulkSupport.importResponse(result);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "Item name and category are required.");
+            response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
+    }
 
-        int inStock = body.get("inStock") != null ? ((Number) body.get("inStock")).intValue() : 0;
-        int minLevel = body.get("minLevel") != null ? ((Number) body.get("minLevel")).intValue() : 0;
-        int damaged = body.get("damaged") != null ? ((Number) body.get("damaged")).intValue() : 0;
-        int missing = body.get("missing") != null ? ((Number) body.get("missing")).intValue() : 0;
+    /**
+     * GET /inventory/export?format=csv|ndjson
+     * Streams every item; rows are written as they are read from the database.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInventory(@RequestParam(defaultValue = "csv") String format) {
+        return bulkSupport.<inventory>export("inventory", format,
+                new String[] {"item", "category", "inStock", "minLevel", "damaged", "missing", "status"},
+                i -> new Object[] {i.getItem(), i.getCategory(), i.getInStock(), i.getMinLevel(), i.getDamaged(), i.getMissing(), i.getStatus()},
+                service::exportItems, objectMapper);
+    }
 
+    /**
+     * POST /inventory/add
+     * Body: { "item": "...", "category": "...", "inStock": 0, "minLevel": 0 }
+     */
+    @PostMapping("/add")
+    public ResponseEntity<?> addInventory(@Valid @RequestBody inventoryDto.add body) {
         try {
-            inventory updated = service.updateItem(id, item.trim(), category, inStock, minLevel, damaged, missing);
-            response.put("success", true);
-            response.put("message", "Updated " + updated.getItem() + ".");
-            response.put("item", updated);
-            return ResponseEntity.ok(response);
+            inventory created = service.addItem(body.item().trim(), body.category(), body.inStock(), body.minLevel());
+            return ResponseEntity.ok(inventoryDto.result.ok("Added new item: " + created.getItem() + ".", created));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
     /**
-     * POST /inventory/delete
-     * Body: { "id": 1 }
+     * POST /inventory/update
+     * Body: { "id": 1, "item": "...", "category": "...", "inStock": 0, "minLevel": 0, "damaged": 0, "missing": 0 }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
      */
-    @PostMapping("/delete")
-    public ResponseEntity<Map<String, Object>> deleteInventory(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
+    @PostMapping("/update")
+    public ResponseEntity<?> updateInventory(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @Valid @RequestBody inventoryDto.update body) {
+        try {
+            inventory updated = service.updateItem(body.id(), body.item().trim(), body.category(), body.inStock(), body.minLevel(),
+                    body.damaged(), body.missing(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion()))
+                    .body(inventoryDto.result.ok("Updated " + updated.getItem() + ".", updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
+        }
+    }
 
-        if (body.get("id") == null) {
-            response.put("success", false);
-            response.put("message", "Item ID is required.");
-            return ResponseEntity.badRequest().body(response);
+    /**
+     * POST /inventory/{id}/adjust
+     * Body: { "inStock": -3, "damaged": 1, "missing": 0 } (signed deltas, omitted = 0, at least one non-zero)
+     * Applied as one conditional UPDATE; fails if a quantity would go negative.
+     */
+    @PostMapping("/{id:\\d+}/adjust")
+    public ResponseEntity<?> adjustInventory(@PathVariable int id, @Valid @RequestBody inventoryDto.delta body) {
+        try {
+            inventory item = service.adjustStock(List.of(body.toAdjustment(id))).get(0);
+            return ResponseEntity.ok().eTag(etagSupport.of(item.getVersion()))
+                    .body(inventoryDto.result.ok("Adjusted " + item.getItem() + ".", item));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
+    /**
+     * POST /inventory/adjust
+     * Body: { "adjustments": [ { "id": 1, "inStock": 2 }, { "id": 7, "inStock": -1, "damaged": 1 } ] }
+     * All adjustments are sent in one batch and applied together or not at all.
+     */
+    @PostMapping("/adjust")
+    public ResponseEntity<?> adjustInventoryBatch(@Valid @RequestBody inventoryDto.adjustBatch body) {
+        try {
+            List<inventory> updated = service.adjustStock(body.adjustments().stream()
+                    .map(inventoryDto.adjustment::toAdjustment)
+                    .toList());
+            return ResponseEntity.ok(new inventoryDto.batchResult(true, "Adjusted " + updated.size() + " items.", updated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
+        }
+    }
 
+    /**
+     * POST /inventory/delete
+     * Body: { "id": 1 }
+     */
+    @PostMapping("/delete")
+    public ResponseEntity<apiResult> deleteInventory(@Valid @RequestBody idRequest body) {
         try {
-            service.deleteItem(id);
-            response.put("success", true);
-            response.put("message", "Item deleted successfully.");
-            return ResponseEntity.ok(response);
+            service.deleteItem(body.id());
+            return ResponseEntity.ok(apiResult.ok("Item deleted successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 }
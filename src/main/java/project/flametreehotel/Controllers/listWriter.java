@@ -0,0 +1,83 @@
+package project.flametreehotel.Controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.pageResult;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Writes /list pages with an ObjectWriter built once per row type, so serialization skips
+ * the per-call type lookup of the message converter. format=compact sends the column names
+ * once and each row as an array, which roughly halves large boards on the wire.
+ * Pages carry the module's weak ETag (see changeFeed.listTag) with no-cache, so browsers
+ * revalidate on every navigation and an unchanged board costs a 304 and one indexed read.
+ */
+@Component
+public class listWriter {
+
+    private static final String COMPACT = "compact";
+
+    /**
+     * { success, items, nextCursor } - the shape the list endpoints have always returned.
+     */
+    record page<T>(boolean success, List<T> items, String nextCursor) {
+    }
+
+    /**
+     * { success, columns, rows, nextCursor } with rows as arrays in column order.
+     */
+    record compactPage(boolean success, String[] columns, List<Object[]> rows, String nextCursor) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final changeFeed feed;
+    private final ObjectWriter compactWriter;
+    private final Map<Class<?>, ObjectWriter> pageWriters = new ConcurrentHashMap<>();
+
+    public listWriter(ObjectMapper objectMapper, changeFeed feed) {
+        this.objectMapper = objectMapper;
+        this.feed = feed;
+        this.compactWriter = objectMapper.writerFor(compactPage.class);
+    }
+
+    /**
+     * True when the client's If-None-Match still matches the module's list tag; the 304 is
+     * then already set up and the endpoint returns null. Otherwise the tag is set on the
+     * response. Call it before reading, so a write racing the read leaves the older tag.
+     */
+    public boolean notModified(String module, WebRequest request) {
+        return request.checkNotModified(feed.listTag(module));
+    }
+
+    public <T> ResponseEntity<byte[]> write(pageResult<T> result, Class<T> rowType, String format,
+                                            String[] columns, Function<T, Object[]> values) {
+        byte[] body;
+        if (COMPACT.equalsIgnoreCase(format)) {
+            List<Object[]> rows = new ArrayList<>(result.items().size());
+            for (T row : result.items()) {
+                rows.add(values.apply(row));
+            }
+            body = compactWriter.writeValueAsBytes(new compactPage(true, columns, rows, result.nextCursor()));
+        } else {
+            body = writerFor(rowType).writeValueAsBytes(new page<>(true, result.items(), result.nextCursor()));
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private ObjectWriter writerFor(Class<?> rowType) {
+        return pageWriters.computeIfAbsent(rowType, type -> objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructParametricType(page.class, type)));
+    }
+}
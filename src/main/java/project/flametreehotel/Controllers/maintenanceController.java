@@ -1,19 +1,37 @@
 package project.flametreehotel.Controllers;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.approvalRequest;
+import project.flametreehotel.Dto.idRequest;
+import project.flametreehotel.Dto.maintenanceDto;
 import project.flametreehotel.Model.maintenance;
+import project.flametreehotel.Repository.maintenanceRow;
 import project.flametreehotel.Services.maintenanceService;
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.changeSet;
+import project.flametreehotel.Services.statusMetrics;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/maintenance")
@@ -21,128 +39,179 @@ import project.flametreehotel.Services.maintenanceService;
 public class maintenanceController {
 
     private final maintenanceService service;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final listWriter lists;
 
     /**
-     * GET /maintenance/list
-     * Returns all maintenance tickets from the database.
+     * GET /maintenance/list?after=&limit=&status=&assignedStaff=&format=compact
+     * Returns one page of maintenance tickets plus the cursor for the next page.
+     * format=compact returns { columns, rows } with each row as an array in column order.
+     * Carries a weak ETag that only changes when the module is written; a matching If-None-Match gets 304.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<maintenance>> listMaintenanceItems() {
-        return ResponseEntity.ok(service.getAllTickets());
+    public ResponseEntity<?> listMaintenanceItems(@RequestParam(required = false) String after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String assignedStaff,
+                                                  @RequestParam(required = false) String format,
+                                                  WebRequest request) {
+        if (lists.notModified("maintenance", request)) return null;
+        try {
+            return lists.write(service.listTickets(after, limit, status, assignedStaff), maintenanceRow.class, format, maintenanceRow.COLUMNS, maintenanceRow::toArray);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
-     * POST /maintenance/add
-     * Body: { "ticket": "...", "location": "...", "issue": "...", "assignedTo": "...", "status": "..." }
+     * GET /maintenance/metrics
+     * Returns maintenance ticket counts per status from the in-memory counters; no database query.
      */
-    @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addMaintenanceItem(@RequestBody Map<String, Object> body) {
+    @GetMapping("/metrics")
+    public ResponseEntity<statusMetrics> getMaintenanceMetrics() {
+        return ResponseEntity.ok(service.getMetrics());
+    }
+
+    /**
+     * GET /maintenance/changes?since=&limit=
+     * Delta sync: rows saved and ids deleted after change sequence since, plus the next
+     * sequence to ask for. reset = true means reload the full list, then continue from next.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam long since,
+                                                          @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
+        changeSet<maintenance> changes = service.changesSince(since, limit);
+        response.put("success", true);
+        response.put("saved", changes.saved());
+        response.put("deleted", changes.deleted());
+        response.put("next", changes.next());
+        response.put("more", changes.more());
+        response.put("reset", changes.reset());
+        return ResponseEntity.ok(response);
+    }
 
-        String ticket = (String) body.get("ticket");
-        String location = (String) body.get("location");
-        String issue = (String) body.get("issue");
-        String assignedTo = (String) body.get("assignedTo");
-        String status = (String) body.get("status");
+    /**
+     * GET /maintenance/events
+     * Server-Sent Events stream of maintenance ticket changes ("saved", "deleted", "reload").
+     * Reconnects resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return feed.subscribe("maintenance", lastEventId);
+    }
 
-        if (ticket == null || ticket.isBlank() || location == null || location.isBlank()
-                || issue == null || issue.isBlank() || assignedTo == null || assignedTo.isBlank()
-                || status == null || status.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /maintenance/{id}
+     * Returns a single ticket with an ETag; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Map<String, Object>> getMaintenanceItem(@PathVariable int id) {
+        Map<String, Object> response = new HashMap<>();
 
         try {
-            maintenance created = service.addTicket(ticket.trim(), location.trim(), issue.trim(), assignedTo.trim(), status);
+            maintenance found = service.getTicket(id);
             response.put("success", true);
-            response.put("message", "Added ticket " + created.getTicket() + ".");
-            response.put("ticket", created);
-            return ResponseEntity.ok(response);
+            response.put("ticket", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.status(404).body(response);
         }
     }
 
     /**
-     * POST /maintenance/update
-     * Body: { "id": 1, "ticket": "...", "location": "...", "issue": "...", "assignedTo": "...", "status": "..." }
+     * GET /maintenance/ticket/{ticket}
+     * Returns a single ticket with an ETag; a matching If-None-Match gets 304.
      */
-    @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateMaintenanceItem(@RequestBody Map<String, Object> body) {
+    @GetMapping("/ticket/{ticket}")
+    public ResponseEntity<Map<String, Object>> getMaintenanceByTicket(@PathVariable String ticket) {
         Map<String, Object> response = new HashMap<>();
 
-        if (body.get("id") == null) {
+        try {
+            maintenance found = service.findTicketByTicket(ticket);
+            response.put("success", true);
+            response.put("ticket", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
+        } catch (RuntimeException e) {
             response.put("success", false);
-            response.put("message", "Record ID is required.");
-            return ResponseEntity.badRequest().body(response);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
-        String ticket = (String) body.get("ticket");
-        String location = (String) body.get("location");
-        String issue = (String) body.get("issue");
-        String assignedTo = (String) body.get("assignedTo");
-        String status = (String) body.get("status");
+    /**
+     * GET /maintenance/export?format=ndjson|csv
+     * Streams every ticket, one JSON object per line by default; rows are written as they are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(@RequestParam(defaultValue = "ndjson") String format) {
+        return bulkSupport.<maintenance>export("maintenance", format,
+                new String[] {"ticket", "location", "issue", "assignedTo", "status", "approved"},
+                m -> new Object[] {m.getTicket(), m.getLocation(), m.getIssue(), m.getAssignedTo(), m.getStatus(), m.isApproved()},
+                service::exportTickets, objectMapper);
+    }
 
-        if (ticket == null || ticket.isBlank() || location == null || location.isBlank()
-                || issue == null || issue.isBlank() || assignedTo == null || assignedTo.isBlank()
-                || status == null || status.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
+    /**
+     * POST /maintenance/add
+     * Body: { "ticket": "...", "location": "...", "issue": "...", "assignedTo": "...", "status": "..." }
+     */
+    @PostMapping("/add")
+    public ResponseEntity<?> addMaintenanceItem(@Valid @RequestBody maintenanceDto.add body) {
+        try {
+            maintenance created = service.addTicket(body.ticket().trim(), body.location().trim(), body.issue().trim(),
+                    body.assignedTo().trim(), body.status());
+            return ResponseEntity.ok(maintenanceDto.result.ok("Added ticket " + created.getTicket() + ".", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
+    }
 
+    /**
+     * POST /maintenance/update
+     * Body: { "id": 1, "ticket": "...", "location": "...", "issue": "...", "assignedTo": "...", "status": "..." }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
+     */
+    @PostMapping("/update")
+    public ResponseEntity<?> updateMaintenanceItem(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody maintenanceDto.update body) {
         try {
-            maintenance updated = service.updateTicket(id, ticket.trim(), location.trim(), issue.trim(), assignedTo.trim(), status);
-            response.put("success", true);
-            response.put("message", "Updated ticket " + updated.getTicket() + ".");
-            response.put("ticket", updated);
-            return ResponseEntity.ok(response);
+            maintenance updated = service.updateTicket(body.id(), body.ticket().trim(), body.location().trim(), body.issue().trim(),
+                    body.assignedTo().trim(), body.status(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion()))
+                    .body(maintenanceDto.result.ok("Updated ticket " + updated.getTicket() + ".", updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
     /**
      * POST /maintenance/approve
      * Body: { "id": 1, "approved": true, "role": "Manager" }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
      */
     @PostMapping("/approve")
-    public ResponseEntity<Map<String, Object>> approveMaintenance(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null || body.get("approved") == null) {
-            response.put("success", false);
-            response.put("message", "Record ID and approved value are required.");
-            return ResponseEntity.badRequest().body(response);
+    public ResponseEntity<?> approveMaintenance(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @Valid @RequestBody approvalRequest body) {
+        if (!body.allowed()) {
+            return ResponseEntity.status(403).body(apiResult.error("Only manager or supervisor can approve tickets."));
         }
 
-        String role = String.valueOf(body.getOrDefault("role", "")).trim();
-        boolean allowed = "Manager".equalsIgnoreCase(role) || "Staff Supervisor".equalsIgnoreCase(role);
-        if (!allowed) {
-            response.put("success", false);
-            response.put("message", "Only manager or supervisor can approve tickets.");
-            return ResponseEntity.status(403).body(response);
-        }
-
-        int id = ((Number) body.get("id")).intValue();
-        boolean approved = Boolean.parseBoolean(String.valueOf(body.get("approved")));
-
         try {
-            maintenance updated = service.setApproval(id, approved);
-            response.put("success", true);
-            response.put("message", "Ticket " + updated.getTicket() + (approved ? " approved." : " unapproved."));
-            response.put("ticket", updated);
-            return ResponseEntity.ok(response);
+            maintenance updated = service.setApproval(body.id(), body.approved(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion())).body(maintenanceDto.result.ok(
+                    "Ticket " + updated.getTicket() + (body.approved() ? " approved." : " unapproved."), updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -151,26 +220,12 @@ public class maintenanceController {
      * Body: { "id": 1 }
      */
     @PostMapping("/delete")
-    public ResponseEntity<Map<String, Object>> deleteMaintenanceItem(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null) {
-            response.put("success", false);
-            response.put("message", "Record ID is required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        int id = ((Number) body.get("id")).intValue();
-
+    public ResponseEntity<apiResult> deleteMaintenanceItem(@Valid @RequestBody idRequest body) {
         try {
-            service.deleteTicket(id);
-            response.put("success", true);
-            response.put("message", "Ticket deleted successfully.");
-            return ResponseEntity.ok(response);
+            service.deleteTicket(body.id());
+            return ResponseEntity.ok(apiResult.ok("Ticket deleted successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 }
@@ -1,19 +1,38 @@
 package project.flametreehotel.Controllers;
 
+import java.io.InputStream;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Dto.apiResult;
+import project.flametreehotel.Dto.idRequest;
+import project.flametreehotel.Dto.ordersDto;
 import project.flametreehotel.Model.orders;
+import project.flametreehotel.Repository.ordersRow;
 import project.flametreehotel.Services.ordersService;
+import project.flametreehotel.Services.bulkRows;
+import project.flametreehotel.Services.changeFeed;
+import project.flametreehotel.Services.changeSet;
+import project.flametreehotel.Services.statusMetrics;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/orders")
@@ -21,100 +40,174 @@ import project.flametreehotel.Services.ordersService;
 public class orderController {
 
     private final ordersService service;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final listWriter lists;
 
     /**
-     * GET /orders/list
-     * Returns all purchase orders from the database.
+     * GET /orders/list?after=&limit=&status=&supplier=&format=compact
+     * Returns one page of purchase orders plus the cursor for the next page.
+     * format=compact returns { columns, rows } with each row as an array in column order.
+     * Carries a weak ETag that only changes when the module is written; a matching If-None-Match gets 304.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<orders>> listOrders() {
-        return ResponseEntity.ok(service.getAllOrders());
+    public ResponseEntity<?> listOrders(@RequestParam(required = false) String after,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) String status,
+                                        @RequestParam(required = false) String supplier,
+                                        @RequestParam(required = false) String format,
+                                        WebRequest request) {
+        if (lists.notModified("orders", request)) return null;
+        try {
+            return lists.write(service.listOrders(after, limit, status, supplier), ordersRow.class, format, ordersRow.COLUMNS, ordersRow::toArray);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
-     * POST /orders/add
-     * Body: { "poid": "...", "supplier": "...", "item": "...", "qty": 0, "status": "..." }
+     * GET /orders/metrics
+     * Returns purchase order counts per status from the in-memory counters; no database query.
      */
-    @PostMapping("/add")
-    public ResponseEntity<Map<String, Object>> addOrder(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
+    @GetMapping("/metrics")
+    public ResponseEntity<statusMetrics> getOrderMetrics() {
+        return ResponseEntity.ok(service.getMetrics());
+    }
 
-        String poid = (String) body.get("poid");
-        String supplier = (String) body.get("supplier");
-        String item = (String) body.get("item");
-        String status = (String) body.get("status");
+    /**
+     * GET /orders/changes?since=&limit=
+     * Delta sync: rows saved and ids deleted after change sequence since, plus the next
+     * sequence to ask for. reset = true means reload the full list, then continue from next.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        changeSet<orders> changes = service.changesSince(since, limit);
+        response.put("success", true);
+        response.put("saved", changes.saved());
+        response.put("deleted", changes.deleted());
+        response.put("next", changes.next());
+        response.put("more", changes.more());
+        response.put("reset", changes.reset());
+        return ResponseEntity.ok(response);
+    }
 
-        if (poid == null || poid.isBlank() || supplier == null || supplier.isBlank()
-                || item == null || item.isBlank() || status == null || status.isBlank()) {
-            response.put("success", false);
-            response.put("message", "All fields are required.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /orders/events
+     * Server-Sent Events stream of purchase order changes ("saved", "deleted", "reload").
+     * Reconnects resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return feed.subscribe("orders", lastEventId);
+    }
 
-        int qty = body.get("qty") != null ? ((Number) body.get("qty")).intValue() : 0;
-        if (qty < 1) {
-            response.put("success", false);
-            response.put("message", "Quantity must be at least 1.");
-            return ResponseEntity.badRequest().body(response);
-        }
+    /**
+     * GET /orders/{id}
+     * Returns a single purchase order with an ETag; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Map<String, Object>> getOrder(@PathVariable int id) {
+        Map<String, Object> response = new HashMap<>();
 
         try {
-            orders created = service.addOrder(poid.trim(), supplier.trim(), item.trim(), qty, status);
+            orders found = service.getOrder(id);
             response.put("success", true);
-            response.put("message", "Added purchase order " + created.getPoid() + ".");
-            response.put("order", created);
-            return ResponseEntity.ok(response);
+            response.put("order", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.status(404).body(response);
         }
     }
 
     /**
-     * POST /orders/update
-     * Body: { "id": 1, "poid": "...", "supplier": "...", "item": "...", "qty": 0, "status": "..." }
+     * GET /orders/poid/{poid}
+     * Returns a single purchase order with an ETag; a matching If-None-Match gets 304.
      */
-    @PostMapping("/update")
-    public ResponseEntity<Map<String, Object>> updateOrder(@RequestBody Map<String, Object> body) {
+    @GetMapping("/poid/{poid}")
+    public ResponseEntity<Map<String, Object>> getOrderByPoid(@PathVariable String poid) {
         Map<String, Object> response = new HashMap<>();
 
-        if (body.get("id") == null) {
+        try {
+            orders found = service.findOrderByPoid(poid);
+            response.put("success", true);
+            response.put("order", found);
+            return ResponseEntity.ok().eTag(etagSupport.of(found.getVersion())).body(response);
+        } catch (RuntimeException e) {
             response.put("success", false);
-            response.put("message", "Order ID is required.");
-            return ResponseEntity.badRequest().body(response);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
         }
+    }
 
-        int id = ((Number) body.get("id")).intValue();
-        String poid = (String) body.get("poid");
-        String supplier = (String) body.get("supplier");
-        String item = (String) body.get("item");
-        String status = (String) body.get("status");
-
-        if (poid == null || poid.isBlank() || supplier == null || supplier.isBlank()
-                || item == null || item.isBlank() || status == null || status.isBlank()) {
+    /**
+     * POST /orders/import
+     * Body: CSV with a header row (poid,supplier,item,qty,status) or JSON lines, one purchase order per line.
+     * Existing PO IDs are skipped; per-line problems are reported in "errors".
+     */
+    @PostMapping(value = "/import", consumes = {bulkSupport.CSV, bulkSupport.NDJSON})
+    public ResponseEntity<Map<String, Object>> importOrders(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                            InputStream body) {
+        try {
+            bulkRows.importResult result = service.importOrders(bulkSupport.reader(body), bulkSupport.isCsv(contentType));
+            return bulkSupport.importResponse(result);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "All fields are required.");
+            response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
+    }
 
-        int qty = body.get("qty") != null ? ((Number) body.get("qty")).intValue() : 0;
-        if (qty < 1) {
-            response.put("success", false);
-            response.put("message", "Quantity must be at least 1.");
-            return ResponseEntity.badRequest().body(response);
+    /**
+     * GET /orders/export?format=csv|ndjson
+     * Streams every purchase order; rows are written as they are read from the database.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "csv") String format) {
+        return bulkSupport.<orders>export("orders", format,
+                new String[] {"poid", "supplier", "item", "qty", "status"},
+                o -> new Object[] {o.getPoid(), o.getSupplier(), o.getItem(), o.getQty(), o.getStatus()},
+                service::exportOrders, objectMapper);
+    }
+
+    /**
+     * POST /orders/add
+     * Body: { "poid": "...", "supplier": "...", "item": "...", "qty": 0, "status": "..." }
+     */
+    @PostMapping("/add")
+    public ResponseEntity<?> addOrder(@Valid @RequestBody ordersDto.add body) {
+        try {
+            orders created = service.addOrder(body.poid().trim(), body.supplier().trim(), body.item().trim(), body.qty(), body.status());
+            return ResponseEntity.ok(ordersDto.result.ok("Added purchase order " + created.getPoid() + ".", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
+    }
 
+    /**
+     * POST /orders/update
+     * Body: { "id": 1, "poid": "...", "supplier": "...", "item": "...", "qty": 0, "status": "..." }
+     * Header: If-Match: "<version>" from the GET ETag (optional); a stale version gets 409.
+     */
+    @PostMapping("/update")
+    public ResponseEntity<?> updateOrder(@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @Valid @RequestBody ordersDto.update body) {
         try {
-            orders updated = service.updateOrder(id, poid.trim(), supplier.trim(), item.trim(), qty, status);
-            response.put("success", true);
-            response.put("message", "Updated purchase order " + updated.getPoid() + ".");
-            response.put("order", updated);
-            return ResponseEntity.ok(response);
+            orders updated = service.updateOrder(body.id(), body.poid().trim(), body.supplier().trim(), body.item().trim(), body.qty(),
+                    body.status(), etagSupport.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagSupport.of(updated.getVersion()))
+                    .body(ordersDto.result.ok("Updated purchase order " + updated.getPoid() + ".", updated));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(apiResult.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 
@@ -123,26 +216,12 @@ public class orderController {
      * Body: { "id": 1 }
      */
     @PostMapping("/delete")
-    public ResponseEntity<Map<String, Object>> deleteOrder(@RequestBody Map<String, Object> body) {
-        Map<String, Object> response = new HashMap<>();
-
-        if (body.get("id") == null) {
-            response.put("success", false);
-            response.put("message", "Order ID is required.");
-            return ResponseEntity.badRequest().body(response);
-        }
-
-        int id = ((Number) body.get("id")).intValue();
-
+    public ResponseEntity<apiResult> deleteOrder(@Valid @RequestBody idRequest body) {
         try {
-            service.deleteOrder(id);
-            response.put("success", true);
-            response.put("message", "Purchase order deleted successfully.");
-            return ResponseEntity.ok(response);
+            service.deleteOrder(body.id());
+            return ResponseEntity.ok(apiResult.ok("Purchase order deleted successfully."));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(apiResult.error(e.getMessage()));
         }
     }
 }
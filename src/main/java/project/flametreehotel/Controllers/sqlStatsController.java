@@ -0,0 +1,45 @@
+package project.flametreehotel.Controllers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Services.sqlStats;
+
+@RestController
+@RequestMapping("/admin/sql")
+@RequiredArgsConstructor
+public class sqlStatsController {
+
+    private final sqlStats stats;
+
+    /**
+     * GET /admin/sql?top=20
+     * Returns the endpoints with the most database time (statements, rows and time per
+     * request) and the most recent requests flagged as slow, chatty, N+1 or writing on GET.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(stats.report(top));
+    }
+
+    /**
+     * POST /admin/sql/reset
+     * Clears the aggregates, e.g. before a load run.
+     */
+    @PostMapping("/reset")
+    public ResponseEntity<Map<String, Object>> reset() {
+        stats.reset();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "SQL statistics cleared.");
+        return ResponseEntity.ok(response);
+    }
+}
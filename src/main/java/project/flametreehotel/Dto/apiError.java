@@ -0,0 +1,14 @@
+package project.flametreehotel.Dto;
+
+import java.util.Map;
+
+/**
+ * Error envelope for requests rejected before reaching a service: the usual
+ * { success: false, message } plus the message for each invalid field.
+ */
+public record apiError(boolean success, String message, Map<String, String> errors) {
+
+    public apiError(String message, Map<String, String> errors) {
+        this(false, message, errors);
+    }
+}
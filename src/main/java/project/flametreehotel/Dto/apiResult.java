@@ -0,0 +1,16 @@
+package project.flametreehotel.Dto;
+
+/**
+ * { success, message } body for writes that return nothing else, and for errors raised by
+ * the services.
+ */
+public record apiResult(boolean success, String message) {
+
+    public static apiResult ok(String message) {
+        return new apiResult(true, message);
+    }
+
+    public static apiResult error(String message) {
+        return new apiResult(false, message);
+    }
+}
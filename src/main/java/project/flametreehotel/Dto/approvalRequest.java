@@ -0,0 +1,16 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Body of the /approve endpoints: { "id": 1, "approved": true, "role": "Manager" }.
+ */
+public record approvalRequest(@NotNull(message = "ID and approved value are required.") Integer id,
+                              @NotNull(message = "ID and approved value are required.") Boolean approved,
+                              String role) {
+
+    public boolean allowed() {
+        String trimmed = role == null ? "" : role.trim();
+        return "Manager".equalsIgnoreCase(trimmed) || "Staff Supervisor".equalsIgnoreCase(trimmed);
+    }
+}
@@ -0,0 +1,35 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request bodies of the /auth endpoints.
+ */
+public final class authDto {
+
+    private authDto() {
+    }
+
+    public record login(@NotNull(message = "Username, password, and role are required.") String username,
+                        @NotNull(message = "Username, password, and role are required.") String password,
+                        @NotNull(message = "Username, password, and role are required.") String role) {
+    }
+
+    public record register(@NotNull(message = "Username, staff email, and password are required.") String username,
+                           @NotNull(message = "Username, staff email, and password are required.") String staffEmail,
+                           @NotNull(message = "Username, staff email, and password are required.") String password,
+                           String role) {
+    }
+
+    public record assignRole(@NotNull(message = "Username and role are required.") String username,
+                             @NotBlank(message = "Username and role are required.") String role) {
+    }
+
+    /**
+     * active accepts true/false or the strings "true"/"false" the dashboard sends.
+     */
+    public record status(@NotNull(message = "Username and active status are required.") String username,
+                         @NotNull(message = "Username and active status are required.") Boolean active) {
+    }
+}
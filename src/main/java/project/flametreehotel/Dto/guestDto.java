@@ -0,0 +1,42 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import project.flametreehotel.Model.guest;
+
+/**
+ * Request and response bodies of the /guestservice write endpoints.
+ */
+public final class guestDto {
+
+    private static final String REQUIRED = "All fields are required.";
+
+    private guestDto() {
+    }
+
+    public record add(@NotBlank(message = REQUIRED) String requestId,
+                      @NotBlank(message = REQUIRED) String guestRoom,
+                      @NotBlank(message = REQUIRED) String request,
+                      @NotBlank(message = REQUIRED) String assignedStaff,
+                      @NotBlank(message = REQUIRED) String status,
+                      String priority,
+                      String department) {
+    }
+
+    public record update(@NotNull(message = "Record ID is required.") Integer id,
+                         @NotBlank(message = REQUIRED) String requestId,
+                         @NotBlank(message = REQUIRED) String guestRoom,
+                         @NotBlank(message = REQUIRED) String request,
+                         @NotBlank(message = REQUIRED) String assignedStaff,
+                         @NotBlank(message = REQUIRED) String status,
+                         String priority,
+                         String department) {
+    }
+
+    public record result(boolean success, String message, guest request) {
+
+        public static result ok(String message, guest request) {
+            return new result(true, message, request);
+        }
+    }
+}
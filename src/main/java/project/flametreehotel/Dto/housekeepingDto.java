@@ -0,0 +1,55 @@
+package project.flametreehotel.Dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import project.flametreehotel.Model.housekeeping;
+
+/**
+ * Request and response bodies of the /housekeeping write endpoints.
+ */
+public final class housekeepingDto {
+
+    private static final String REQUIRED = "All fields are required.";
+
+    private housekeepingDto() {
+    }
+
+    public record add(@NotBlank(message = REQUIRED) String requestId,
+                      @NotBlank(message = REQUIRED) String room,
+                      @NotBlank(message = REQUIRED) String requestType,
+                      String assignedStaff,
+                      @NotBlank(message = REQUIRED) String taskStatus) {
+    }
+
+    public record update(@NotNull(message = "Task ID is required.") Integer id,
+                         @NotBlank(message = REQUIRED) String requestId,
+                         @NotBlank(message = REQUIRED) String room,
+                         @NotBlank(message = REQUIRED) String requestType,
+                         @NotBlank(message = REQUIRED) String assignedStaff,
+                         @NotBlank(message = REQUIRED) String taskStatus) {
+    }
+
+    public record wave(@NotEmpty(message = "At least one room is required.")
+                       @Size(max = 1000, message = "A wave is limited to 1000 rooms.")
+                       List<@NotBlank(message = "Room numbers cannot be blank.") String> rooms,
+                       @NotBlank(message = "Request type is required.") String requestType) {
+    }
+
+    public record result(boolean success, String message, housekeeping task) {
+
+        public static result ok(String message, housekeeping task) {
+            return new result(true, message, task);
+        }
+    }
+
+    public record waveResult(boolean success, String message, List<housekeeping> tasks) {
+
+        public static waveResult ok(String message, List<housekeeping> tasks) {
+            return new waveResult(true, message, tasks);
+        }
+    }
+}
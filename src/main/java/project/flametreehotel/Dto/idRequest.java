@@ -0,0 +1,9 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Body of the /delete endpoints: { "id": 1 }.
+ */
+public record idRequest(@NotNull(message = "ID is required.") Integer id) {
+}
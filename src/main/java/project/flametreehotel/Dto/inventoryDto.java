@@ -0,0 +1,101 @@
+package project.flametreehotel.Dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Repository.stockAdjustment;
+
+/**
+ * Request and response bodies of the /inventory write endpoints. Omitted quantities are 0.
+ */
+public final class inventoryDto {
+
+    private static final String REQUIRED = "Item name and category are required.";
+    public static final int MAX_ADJUSTMENTS = 1000;
+
+    private inventoryDto() {
+    }
+
+    public record add(@NotBlank(message = REQUIRED) String item,
+                      @NotBlank(message = REQUIRED) String category,
+                      Integer inStock,
+                      Integer minLevel) {
+
+        public add {
+            inStock = inStock == null ? 0 : inStock;
+            minLevel = minLevel == null ? 0 : minLevel;
+        }
+    }
+
+    public record update(@NotNull(message = "Item ID is required.") Integer id,
+                         @NotBlank(message = REQUIRED) String item,
+                         @NotBlank(message = REQUIRED) String category,
+                         Integer inStock,
+                         Integer minLevel,
+                         Integer damaged,
+                         Integer missing) {
+
+        public update {
+            inStock = inStock == null ? 0 : inStock;
+            minLevel = minLevel == null ? 0 : minLevel;
+            damaged = damaged == null ? 0 : damaged;
+            missing = missing == null ? 0 : missing;
+        }
+    }
+
+    /**
+     * Signed deltas for POST /inventory/{id}/adjust; at least one of them must be non-zero.
+     */
+    public record delta(Integer inStock, Integer damaged, Integer missing) {
+
+        public delta {
+            inStock = inStock == null ? 0 : inStock;
+            damaged = damaged == null ? 0 : damaged;
+            missing = missing == null ? 0 : missing;
+        }
+
+        @AssertTrue(message = "At least one of inStock, damaged or missing must be non-zero.")
+        public boolean isChange() {
+            return inStock != 0 || damaged != 0 || missing != 0;
+        }
+
+        public stockAdjustment toAdjustment(int id) {
+            return new stockAdjustment(id, inStock, damaged, missing);
+        }
+    }
+
+    public record adjustment(@NotNull(message = "Each adjustment needs an item id.") Integer id,
+                             Integer inStock, Integer damaged, Integer missing) {
+
+        public adjustment {
+            inStock = inStock == null ? 0 : inStock;
+            damaged = damaged == null ? 0 : damaged;
+            missing = missing == null ? 0 : missing;
+        }
+
+        public stockAdjustment toAdjustment() {
+            return new stockAdjustment(id, inStock, damaged, missing);
+        }
+    }
+
+    public record adjustBatch(@NotEmpty(message = "At least one adjustment is required.")
+                              @Size(max = MAX_ADJUSTMENTS, message = "At most " + MAX_ADJUSTMENTS + " adjustments per request.")
+                              List<@Valid adjustment> adjustments) {
+    }
+
+    public record result(boolean success, String message, inventory item) {
+
+        public static result ok(String message, inventory item) {
+            return new result(true, message, item);
+        }
+    }
+
+    public record batchResult(boolean success, String message, List<inventory> items) {
+    }
+}
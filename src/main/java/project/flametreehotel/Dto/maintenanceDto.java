@@ -0,0 +1,38 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import project.flametreehotel.Model.maintenance;
+
+/**
+ * Request and response bodies of the /maintenance write endpoints.
+ */
+public final class maintenanceDto {
+
+    private static final String REQUIRED = "All fields are required.";
+
+    private maintenanceDto() {
+    }
+
+    public record add(@NotBlank(message = REQUIRED) String ticket,
+                      @NotBlank(message = REQUIRED) String location,
+                      @NotBlank(message = REQUIRED) String issue,
+                      @NotBlank(message = REQUIRED) String assignedTo,
+                      @NotBlank(message = REQUIRED) String status) {
+    }
+
+    public record update(@NotNull(message = "Record ID is required.") Integer id,
+                         @NotBlank(message = REQUIRED) String ticket,
+                         @NotBlank(message = REQUIRED) String location,
+                         @NotBlank(message = REQUIRED) String issue,
+                         @NotBlank(message = REQUIRED) String assignedTo,
+                         @NotBlank(message = REQUIRED) String status) {
+    }
+
+    public record result(boolean success, String message, maintenance ticket) {
+
+        public static result ok(String message, maintenance ticket) {
+            return new result(true, message, ticket);
+        }
+    }
+}
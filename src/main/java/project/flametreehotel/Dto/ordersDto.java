@@ -0,0 +1,40 @@
+package project.flametreehotel.Dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import project.flametreehotel.Model.orders;
+
+/**
+ * Request and response bodies of the /orders write endpoints.
+ */
+public final class ordersDto {
+
+    private static final String REQUIRED = "All fields are required.";
+    private static final String QTY = "Quantity must be at least 1.";
+
+    private ordersDto() {
+    }
+
+    public record add(@NotBlank(message = REQUIRED) String poid,
+                      @NotBlank(message = REQUIRED) String supplier,
+                      @NotBlank(message = REQUIRED) String item,
+                      @NotNull(message = QTY) @Min(value = 1, message = QTY) Integer qty,
+                      @NotBlank(message = REQUIRED) String status) {
+    }
+
+    public record update(@NotNull(message = "Order ID is required.") Integer id,
+                         @NotBlank(message = REQUIRED) String poid,
+                         @NotBlank(message = REQUIRED) String supplier,
+                         @NotBlank(message = REQUIRED) String item,
+                         @NotNull(message = QTY) @Min(value = 1, message = QTY) Integer qty,
+                         @NotBlank(message = REQUIRED) String status) {
+    }
+
+    public record result(boolean success, String message, orders order) {
+
+        public static result ok(String message, orders order) {
+            return new result(true, message, order);
+        }
+    }
+}
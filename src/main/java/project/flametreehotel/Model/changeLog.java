@@ -0,0 +1,32 @@
+package project.flametreehotel.Model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * One insert/update (or tombstone, when deleted is set) of a module row. seq is the
+ * change sequence clients pass back to GET /{module}/changes?since=; it is assigned from
+ * change_seq by changeLogBatchRepositoryImpl, never by the identity column.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "ix_change_log_module_seq", columnList = "module, seq"),
+        @Index(name = "ix_change_log_changed_at", columnList = "changedAt")
+})
+@Data
+public class changeLog {
+
+    @Id
+    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    private long seq;
+    private String module;
+    private int rowId;
+    private boolean deleted;
+    private Instant changedAt;
+}
@@ -0,0 +1,21 @@
+package project.flametreehotel.Model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The single row change_log seqs are taken from; see changeLogBatchRepositoryImpl. Mapped so
+ * schema generation (the bench profile) creates the table; the row is read and written
+ * only through JDBC.
+ */
+@Entity
+@Table(name = "change_seq")
+@Data
+public class changeSequence {
+
+    @Id
+    private int id;
+    private long nextSeq;
+}
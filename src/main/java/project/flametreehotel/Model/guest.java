@@ -1,10 +1,22 @@
 package project.flametreehotel.Model;
 
+import java.time.Instant;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
+@Table(name = "guest", indexes = {
+        @Index(name = "ux_guest_request_id", columnList = "requestId", unique = true),
+        @Index(name = "ix_guest_status", columnList = "status"),
+        @Index(name = "ix_guest_assigned_staff", columnList = "assignedStaff"),
+        @Index(name = "ix_guest_status_due", columnList = "status, dueAt")
+})
 @Data
 public class guest {
     @jakarta.persistence.Id
@@ -16,4 +28,16 @@ public class guest {
     private String assignedStaff;
     private String status;
 
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+    @Column(nullable = false)
+    private String department;
+    @Column(nullable = false)
+    private String priority;
+    @Column(nullable = false)
+    private Instant dueAt;
+    private int escalations;
+
+    @Version
+    private long version;
 }
@@ -4,9 +4,17 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
+@Table(name = "housekeeping", indexes = {
+        @Index(name = "ux_housekeeping_request_id", columnList = "requestid", unique = true),
+        @Index(name = "ix_housekeeping_task_status", columnList = "taskStatus"),
+        @Index(name = "ix_housekeeping_assigned_staff", columnList = "assingedStaff")
+})
 @Data
 public class housekeeping {
     @Id
@@ -27,4 +35,7 @@ public class housekeeping {
     private String taskStatus;
 
     private boolean approved;
+
+    @Version
+    private long version;
 }
@@ -3,9 +3,17 @@ package project.flametreehotel.Model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
+@Table(name = "inventory", indexes = {
+        @Index(name = "ux_inventory_item", columnList = "item", unique = true),
+        @Index(name = "ix_inventory_status", columnList = "status"),
+        @Index(name = "ix_inventory_category", columnList = "category")
+})
 @Data
 
 public class inventory {
@@ -19,4 +27,7 @@ public class inventory {
     private int damaged;
     private int missing;
     private String status;
+
+    @Version
+    private long version;
 }
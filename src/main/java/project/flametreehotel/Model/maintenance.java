@@ -3,9 +3,17 @@ package project.flametreehotel.Model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
+@Table(name = "maintenance", indexes = {
+        @Index(name = "ux_maintenance_ticket", columnList = "ticket", unique = true),
+        @Index(name = "ix_maintenance_status", columnList = "status"),
+        @Index(name = "ix_maintenance_assigned_to", columnList = "assignedTo")
+})
 @Data
 public class maintenance {
     @Id
@@ -19,4 +27,7 @@ public class maintenance {
     private String status;
 
     private boolean approved;
+
+    @Version
+    private long version;
 }
@@ -1,11 +1,21 @@
 package project.flametreehotel.Model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
+@Table(name = "orders", indexes = {
+        @Index(name = "ux_orders_poid", columnList = "poid", unique = true),
+        @Index(name = "ix_orders_status", columnList = "status"),
+        @Index(name = "ix_orders_supplier", columnList = "supplier"),
+        @Index(name = "ix_orders_item", columnList = "item")
+})
 @Data
 
 public class orders {
@@ -18,4 +28,16 @@ public class orders {
     private String item;
     private int qty;
     private String status;
+
+    // Written on insert (an order created complete has nothing to book) and afterwards only
+    // by ordersRepository.markStockReceived; order updates leave it alone.
+    @Column(updatable = false, columnDefinition = "boolean not null default false")
+    private boolean stockReceived;
+
+    // Failed receipt bookings, written only by ordersRepository.countReceiptFailure.
+    @Column(insertable = false, updatable = false, columnDefinition = "int not null default 0")
+    private int receiptAttempts;
+
+    @Version
+    private long version;
 }
@@ -4,11 +4,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_username", columnList = "username", unique = true)
+})
 @Data
 public class users {
     @Id
@@ -20,4 +24,7 @@ public class users {
     private String password;
     private String role;
     private boolean status;
+
+    @Version
+    private long version;
 }
@@ -1,10 +1,19 @@
 package project.flametreehotel.Repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.flametreehotel.Model.users;
 
 public interface authRepository extends JpaRepository<users, Integer> {
     users findByUsername(String username);
 
+    @Query("select new project.flametreehotel.Repository.userRow(u.username, u.staffEmail, u.role, u.status) from users u order by u.id asc")
+    List<userRow> findAllRows();
+
+    @Query("select u.username from users u where u.role = :role and u.status = true order by u.username asc")
+    List<String> findActiveUsernames(@Param("role") String role);
 }
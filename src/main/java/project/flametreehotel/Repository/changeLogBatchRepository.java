@@ -0,0 +1,11 @@
+package project.flametreehotel.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Appends change-log entries with JDBC batching, one round trip per call.
+ */
+public interface changeLogBatchRepository {
+    void recordAll(String module, Collection<Integer> rowIds, boolean deleted, Instant changedAt);
+}
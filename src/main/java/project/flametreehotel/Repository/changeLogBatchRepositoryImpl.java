@@ -0,0 +1,59 @@
+package project.flametreehotel.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class changeLogBatchRepositoryImpl implements changeLogBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes seqs for the batch from change_seq with a locking read, so the row stays locked
+     * until the caller's transaction ends and seqs are committed in the order they are taken.
+     */
+    @Override
+    public void recordAll(String module, Collection<Integer> rowIds, boolean deleted, Instant changedAt) {
+        List<Integer> ids = List.copyOf(rowIds);
+        if (ids.isEmpty()) return;
+        long first = allocate(ids.size());
+        Timestamp at = Timestamp.from(changedAt);
+        int[] index = {0};
+        jdbcTemplate.batchUpdate(
+                "insert into change_log (seq, module, rowId, deleted, changedAt) values (?, ?, ?, ?, ?)",
+                ids, ids.size(), (ps, id) -> {
+                    ps.setLong(1, first + index[0]++);
+                    ps.setString(2, module);
+                    ps.setInt(3, id);
+                    ps.setBoolean(4, deleted);
+                    ps.setTimestamp(5, at);
+                });
+    }
+
+    private long allocate(int count) {
+        List<Long> next = lockNext();
+        if (next.isEmpty()) {
+            // Only on a schema built without the migration (the bench profile).
+            try {
+                jdbcTemplate.update("insert into change_seq (id, nextSeq) select 1, coalesce(max(seq), 0) + 1 from change_log");
+            } catch (DuplicateKeyException e) {
+                // Seeded concurrently.
+            }
+            next = lockNext();
+        }
+        long first = next.get(0);
+        jdbcTemplate.update("update change_seq set nextSeq = ? where id = 1", first + count);
+        return first;
+    }
+
+    private List<Long> lockNext() {
+        return jdbcTemplate.queryForList("select nextSeq from change_seq where id = 1 for update", Long.class);
+    }
+}
@@ -0,0 +1,58 @@
+package project.flametreehotel.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import project.flametreehotel.Model.changeLog;
+
+public interface changeLogRepository extends JpaRepository<changeLog, Long>, changeLogBatchRepository {
+
+    /**
+     * One row per changed record after :since, ordered by its latest seq. Seqs commit in
+     * order (see changeLogBatchRepositoryImpl), so nothing below the last one returned can
+     * still appear later.
+     */
+    @Query("""
+            select c.rowId as rowId, max(c.seq) as seq,
+                   max(case when c.deleted = true then 1 else 0 end) as deleted
+            from changeLog c
+            where c.module = :module and c.seq > :since
+            group by c.rowId
+            order by max(c.seq) asc
+            """)
+    List<changeRow> findChanges(@Param("module") String module,
+                                @Param("since") long since,
+                                Limit limit);
+
+    @Query("select coalesce(max(c.seq), 0) from changeLog c")
+    long findHead();
+
+    @Query("select coalesce(min(c.seq), 0) from changeLog c")
+    long findOldest();
+
+    /**
+     * Latest seq logged for the module, from the (module, seq) index.
+     */
+    @Query("select coalesce(max(c.seq), 0) from changeLog c where c.module = :module")
+    long findModuleHead(@Param("module") String module);
+
+    @Query("select max(c.seq) from changeLog c group by c.module")
+    List<Long> findModuleHeads();
+
+    /**
+     * Prunes entries older than the retention window except the seqs in :keep, the module
+     * heads; the newest entry is one of them, so findOldest still shows which sequences are gone.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from changeLog c where c.changedAt < :before and c.seq not in :keep")
+    int deleteOlderThan(@Param("before") Instant before, @Param("keep") Collection<Long> keep);
+}
@@ -0,0 +1,13 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Latest change for one row: its highest seq and whether any entry is a tombstone
+ * (ids are never reused, so a deleted row stays deleted).
+ */
+public interface changeRow {
+    int getRowId();
+
+    long getSeq();
+
+    int getDeleted();
+}
@@ -0,0 +1,20 @@
+package project.flametreehotel.Repository;
+
+import java.time.Instant;
+
+import project.flametreehotel.Model.guest;
+
+/**
+ * An open guest request as held by the SLA queue; read with a constructor expression when
+ * the queue is rebuilt, or copied from a saved entity.
+ */
+public record guestQueueRow(int id, String requestId, String guestRoom, String request, String assignedStaff,
+                            String status, String department, String priority, Instant createdAt, Instant dueAt,
+                            int escalations) {
+
+    public static guestQueueRow of(guest row) {
+        return new guestQueueRow(row.getId(), row.getRequestId(), row.getGuestRoom(), row.getRequest(),
+                row.getAssignedStaff(), row.getStatus(), row.getDepartment(), row.getPriority(),
+                row.getCreatedAt(), row.getDueAt(), row.getEscalations());
+    }
+}
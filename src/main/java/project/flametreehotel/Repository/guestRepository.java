@@ -1,11 +1,75 @@
 package project.flametreehotel.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
 import project.flametreehotel.Model.guest;
 
 public interface guestRepository extends JpaRepository<guest, Integer> {
     Optional<guest> findByRequestId(String requestId);
+
+    /**
+     * Keyset page ordered by id. Null filters are ignored.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.guestRow(g.id, g.requestId, g.guestRoom, g.request, g.assignedStaff, g.status, g.version)
+            from guest g
+            where g.id > :afterId
+              and (:status is null or g.status = :status)
+              and (:assignedStaff is null or g.assignedStaff = :assignedStaff)
+            order by g.id asc
+            """)
+    List<guestRow> findPage(@Param("afterId") int afterId,
+                            @Param("status") String status,
+                            @Param("assignedStaff") String assignedStaff,
+                            Limit limit);
+
+    @Query("select g.status as status, count(g) as total from guest g group by g.status")
+    List<statusCount> countByStatus();
+
+    /**
+     * Every request not yet completed, for rebuilding the SLA queue.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.guestQueueRow(g.id, g.requestId, g.guestRoom, g.request, g.assignedStaff,
+                   g.status, g.department, g.priority, g.createdAt, g.dueAt, g.escalations)
+            from guest g
+            where g.status <> 'Completed'
+            """)
+    List<guestQueueRow> findOpenQueue();
+
+    /**
+     * Raises a batch of overdue requests from one priority to the next in a single statement.
+     * Only rows still at the expected priority change, so a request re-prioritised since the
+     * sweeper read it is left alone. The version is bumped as well, so an edit based on the
+     * pre-escalation row gets a 409.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update guest g
+            set g.priority = :priority, g.escalations = g.escalations + 1, g.version = g.version + 1
+            where g.id in :ids and g.priority = :expectedPriority and g.status <> 'Completed'
+            """)
+    int escalate(@Param("ids") Collection<Integer> ids, @Param("expectedPriority") String expectedPriority,
+                 @Param("priority") String priority);
+
+    /**
+     * Streams every row for export. The MIN_VALUE fetch size puts the MySQL driver in row-streaming mode.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select g from guest g order by g.id asc")
+    Stream<guest> streamAll();
 }
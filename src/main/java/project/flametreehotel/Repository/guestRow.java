@@ -0,0 +1,14 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Guest request board row, read with a constructor expression so listing builds no managed entities.
+ */
+public record guestRow(int id, String requestId, String guestRoom, String request, String assignedStaff,
+                       String status, long version) {
+
+    public static final String[] COLUMNS = {"id", "requestId", "guestRoom", "request", "assignedStaff", "status", "version"};
+
+    public Object[] toArray() {
+        return new Object[]{id, requestId, guestRoom, request, assignedStaff, status, version};
+    }
+}
@@ -1,11 +1,59 @@
 package project.flametreehotel.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import project.flametreehotel.Model.housekeeping;
 
 public interface housekeepingRepository extends JpaRepository<housekeeping, Integer> {
     Optional<housekeeping> findByRequestId(String requestId);
+
+    /**
+     * Keyset page ordered by id. Null filters are ignored.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.housekeepingRow(h.id, h.requestId, h.room, h.requestType, h.assignedStaff, h.taskStatus, h.approved, h.version)
+            from housekeeping h
+            where h.id > :afterId
+              and (:status is null or h.taskStatus = :status)
+              and (:assignedStaff is null or h.assignedStaff = :assignedStaff)
+            order by h.id asc
+            """)
+    List<housekeepingRow> findPage(@Param("afterId") int afterId,
+                                   @Param("status") String status,
+                                   @Param("assignedStaff") String assignedStaff,
+                                   Limit limit);
+
+    @Query("select h.taskStatus as status, count(h) as total from housekeeping h group by h.taskStatus")
+    List<statusCount> countByStatus();
+
+    /**
+     * Staff and room of every task not yet completed for the given staff, one query per plan.
+     */
+    @Query("""
+            select h.assignedStaff as staff, h.room as room
+            from housekeeping h
+            where h.assignedStaff in :staff and h.taskStatus <> 'Completed'
+            """)
+    List<staffTask> findOpenTasks(@Param("staff") Collection<String> staff);
+
+    @Query("select h from housekeeping h where h.assignedStaff = :staff and h.taskStatus <> 'Completed' order by h.id asc")
+    List<housekeeping> findOpenByStaff(@Param("staff") String staff);
+
+    /**
+     * Streams every row for export. The MIN_VALUE fetch size puts the MySQL driver in row-streaming mode.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select h from housekeeping h order by h.id asc")
+    Stream<housekeeping> streamAll();
 }
@@ -0,0 +1,15 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Housekeeping board row, read with a constructor expression so listing builds no managed
+ * entities. version is kept for the If-Match header of the edit dialog.
+ */
+public record housekeepingRow(int id, String requestId, String room, String requestType, String assignedStaff,
+                              String taskStatus, boolean approved, long version) {
+
+    public static final String[] COLUMNS = {"id", "requestId", "room", "requestType", "assignedStaff", "taskStatus", "approved", "version"};
+
+    public Object[] toArray() {
+        return new Object[]{id, requestId, room, requestType, assignedStaff, taskStatus, approved, version};
+    }
+}
@@ -0,0 +1,19 @@
+package project.flametreehotel.Repository;
+
+import java.util.List;
+
+import project.flametreehotel.Model.inventory;
+
+/**
+ * Bulk write paths for inventory, implemented with JDBC batching.
+ */
+public interface inventoryBatchRepository {
+    void insertBatch(List<inventory> items);
+
+    /**
+     * Applies each adjustment as one conditional UPDATE, sent together as a single batch.
+     * Returns the per-adjustment update count; 0 means the row is missing or a quantity
+     * would have gone negative.
+     */
+    int[] adjustStock(List<stockAdjustment> adjustments, int lowStockBuffer);
+}
@@ -0,0 +1,82 @@
+package project.flametreehotel.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Model.inventory;
+
+/**
+ * Hibernate cannot batch inserts into IDENTITY-keyed tables, so imports bypass it and
+ * send one JDBC batch per chunk; with rewriteBatchedStatements the MySQL driver turns it
+ * into a single multi-row INSERT. Stock adjustments use the same batching for UPDATEs.
+ */
+@RequiredArgsConstructor
+public class inventoryBatchRepositoryImpl implements inventoryBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<inventory> items) {
+        jdbcTemplate.batchUpdate(
+                "insert into inventory (item, category, inStock, minLevel, damaged, missing, status) values (?, ?, ?, ?, ?, ?, ?)",
+                items, items.size(), (ps, item) -> {
+                    ps.setString(1, item.getItem());
+                    ps.setString(2, item.getCategory());
+                    ps.setInt(3, item.getInStock());
+                    ps.setInt(4, item.getMinLevel());
+                    ps.setInt(5, item.getDamaged());
+                    ps.setInt(6, item.getMissing());
+                    ps.setString(7, item.getStatus());
+                });
+    }
+
+    /**
+     * Status is assigned first so that it is computed from the old column values plus the
+     * deltas, mirroring inventoryService.computeStatus; MySQL evaluates SET left to right.
+     */
+    private static final String ADJUST_SQL = """
+            update inventory set
+              status = case
+                when inStock + ? - (damaged + ?) - (missing + ?) <= greatest(minLevel, 0) + ? then 'Low Stock'
+                when damaged + ? > 0 or missing + ? > 0 then 'Monitor'
+                else 'Healthy' end,
+              inStock = inStock + ?,
+              damaged = damaged + ?,
+              missing = missing + ?,
+              version = version + 1
+            where id = ? and inStock + ? >= 0 and damaged + ? >= 0 and missing + ? >= 0
+            """;
+
+    @Override
+    public int[] adjustStock(List<stockAdjustment> adjustments, int lowStockBuffer) {
+        return jdbcTemplate.batchUpdate(ADJUST_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                stockAdjustment a = adjustments.get(i);
+                ps.setInt(1, a.inStock());
+                ps.setInt(2, a.damaged());
+                ps.setInt(3, a.missing());
+                ps.setInt(4, lowStockBuffer);
+                ps.setInt(5, a.damaged());
+                ps.setInt(6, a.missing());
+                ps.setInt(7, a.inStock());
+                ps.setInt(8, a.damaged());
+                ps.setInt(9, a.missing());
+                ps.setInt(10, a.id());
+                ps.setInt(11, a.inStock());
+                ps.setInt(12, a.damaged());
+                ps.setInt(13, a.missing());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return adjustments.size();
+            }
+        });
+    }
+}
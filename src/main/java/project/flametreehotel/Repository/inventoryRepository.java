@@ -1,10 +1,79 @@
 package project.flametreehotel.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 import project.flametreehotel.Model.inventory;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface inventoryRepository extends JpaRepository<inventory, Integer> {
+public interface inventoryRepository extends JpaRepository<inventory, Integer>, inventoryBatchRepository {
     Optional<inventory> findByItem(String item);
+
+    List<inventory> findByItemIn(Collection<String> items);
+
+    /**
+     * Keyset page ordered by id. Null filters are ignored.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.inventoryRow(i.id, i.item, i.category, i.inStock, i.minLevel, i.damaged, i.missing, i.status, i.version)
+            from inventory i
+            where i.id > :afterId
+              and (:status is null or i.status = :status)
+              and (:category is null or i.category = :category)
+            order by i.id asc
+            """)
+    List<inventoryRow> findPageById(@Param("afterId") int afterId,
+                                    @Param("status") String status,
+                                    @Param("category") String category,
+                                    Limit limit);
+
+    /**
+     * Keyset page ordered by item name, with id as the tie-breaker.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.inventoryRow(i.id, i.item, i.category, i.inStock, i.minLevel, i.damaged, i.missing, i.status, i.version)
+            from inventory i
+            where (i.item > :afterItem or (i.item = :afterItem and i.id > :afterId))
+              and (:status is null or i.status = :status)
+              and (:category is null or i.category = :category)
+            order by i.item asc, i.id asc
+            """)
+    List<inventoryRow> findPageByItem(@Param("afterItem") String afterItem,
+                                      @Param("afterId") int afterId,
+                                      @Param("status") String status,
+                                      @Param("category") String category,
+                                      Limit limit);
+
+    @Query("""
+            select i.status as status, count(i) as total,
+                   coalesce(sum(i.damaged), 0) as damaged, coalesce(sum(i.missing), 0) as missing
+            from inventory i
+            group by i.status
+            """)
+    List<inventoryStatusTotals> countByStatus();
+
+    /**
+     * Returns which of the given keys already exist, in one query per import chunk.
+     */
+    @Query("select i.item from inventory i where i.item in :items")
+    List<String> findExistingItems(@Param("items") Collection<String> items);
+
+    @Query("select i.id from inventory i where i.item in :items")
+    List<Integer> findIdsByItem(@Param("items") Collection<String> items);
+
+    /**
+     * Streams every row for export. The MIN_VALUE fetch size puts the MySQL driver in row-streaming mode.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select i from inventory i order by i.id asc")
+    Stream<inventory> streamAll();
 }
@@ -0,0 +1,14 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Inventory board row, read with a constructor expression so listing builds no managed entities.
+ */
+public record inventoryRow(int id, String item, String category, int inStock, int minLevel, int damaged, int missing,
+                           String status, long version) {
+
+    public static final String[] COLUMNS = {"id", "item", "category", "inStock", "minLevel", "damaged", "missing", "status", "version"};
+
+    public Object[] toArray() {
+        return new Object[]{id, item, category, inStock, minLevel, damaged, missing, status, version};
+    }
+}
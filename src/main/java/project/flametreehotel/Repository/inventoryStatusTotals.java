@@ -0,0 +1,10 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Inventory metrics row: item count per status plus the damaged and missing totals.
+ */
+public interface inventoryStatusTotals extends statusCount {
+    long getDamaged();
+
+    long getMissing();
+}
@@ -0,0 +1,10 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Projection row pairing an item with the supplier of its most recent purchase order.
+ */
+public interface itemSupplier {
+    String getItem();
+
+    String getSupplier();
+}
@@ -1,11 +1,45 @@
 package project.flametreehotel.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import project.flametreehotel.Model.maintenance;
 
 public interface maintenanceRepository extends JpaRepository<maintenance, Integer> {
     Optional<maintenance> findByTicket(String ticket);
+
+    /**
+     * Keyset page ordered by id. Null filters are ignored.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.maintenanceRow(m.id, m.ticket, m.location, m.issue, m.assignedTo, m.status, m.approved, m.version)
+            from maintenance m
+            where m.id > :afterId
+              and (:status is null or m.status = :status)
+              and (:assignedTo is null or m.assignedTo = :assignedTo)
+            order by m.id asc
+            """)
+    List<maintenanceRow> findPage(@Param("afterId") int afterId,
+                                  @Param("status") String status,
+                                  @Param("assignedTo") String assignedTo,
+                                  Limit limit);
+
+    @Query("select m.status as status, count(m) as total from maintenance m group by m.status")
+    List<statusCount> countByStatus();
+
+    /**
+     * Streams every row for export. The MIN_VALUE fetch size puts the MySQL driver in row-streaming mode.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select m from maintenance m order by m.id asc")
+    Stream<maintenance> streamAll();
 }
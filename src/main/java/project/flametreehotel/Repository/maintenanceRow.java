@@ -0,0 +1,14 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Maintenance board row, read with a constructor expression so listing builds no managed entities.
+ */
+public record maintenanceRow(int id, String ticket, String location, String issue, String assignedTo,
+                             String status, boolean approved, long version) {
+
+    public static final String[] COLUMNS = {"id", "ticket", "location", "issue", "assignedTo", "status", "approved", "version"};
+
+    public Object[] toArray() {
+        return new Object[]{id, ticket, location, issue, assignedTo, status, approved, version};
+    }
+}
@@ -0,0 +1,12 @@
+package project.flametreehotel.Repository;
+
+import java.util.List;
+
+import project.flametreehotel.Model.orders;
+
+/**
+ * Bulk insert path for purchase order imports, implemented with JDBC batching.
+ */
+public interface ordersBatchRepository {
+    void insertBatch(List<orders> orders);
+}
@@ -0,0 +1,31 @@
+package project.flametreehotel.Repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+import project.flametreehotel.Model.orders;
+
+/**
+ * JDBC batch insert for purchase orders; see inventoryBatchRepositoryImpl for why imports bypass Hibernate.
+ */
+@RequiredArgsConstructor
+public class ordersBatchRepositoryImpl implements ordersBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<orders> orders) {
+        jdbcTemplate.batchUpdate(
+                "insert into orders (poid, supplier, item, qty, status, stockReceived) values (?, ?, ?, ?, ?, ?)",
+                orders, orders.size(), (ps, order) -> {
+                    ps.setString(1, order.getPoid());
+                    ps.setString(2, order.getSupplier());
+                    ps.setString(3, order.getItem());
+                    ps.setInt(4, order.getQty());
+                    ps.setString(5, order.getStatus());
+                    ps.setBoolean(6, order.isStockReceived());
+                });
+    }
+}
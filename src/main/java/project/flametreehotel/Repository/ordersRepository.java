@@ -1,11 +1,99 @@
 package project.flametreehotel.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
 import project.flametreehotel.Model.orders;
 
-public interface ordersRepository extends JpaRepository<orders, Integer> {
+public interface ordersRepository extends JpaRepository<orders, Integer>, ordersBatchRepository {
     Optional<orders> findByPoid(String poid);
+
+    /**
+     * Keyset page ordered by id. Null filters are ignored.
+     */
+    @Query("""
+            select new project.flametreehotel.Repository.ordersRow(o.id, o.poid, o.supplier, o.item, o.qty, o.status, o.version)
+            from orders o
+            where o.id > :afterId
+              and (:status is null or o.status = :status)
+              and (:supplier is null or o.supplier = :supplier)
+            order by o.id asc
+            """)
+    List<ordersRow> findPage(@Param("afterId") int afterId,
+                             @Param("status") String status,
+                             @Param("supplier") String supplier,
+                             Limit limit);
+
+    @Query("select o.status as status, count(o) as total from orders o group by o.status")
+    List<statusCount> countByStatus();
+
+    /**
+     * Returns which of the given keys already exist, in one query per import chunk.
+     */
+    @Query("select o.poid from orders o where o.poid in :poids")
+    List<String> findExistingPoids(@Param("poids") Collection<String> poids);
+
+    @Query("select o.id from orders o where o.poid in :poids")
+    List<Integer> findIdsByPoid(@Param("poids") Collection<String> poids);
+
+    /**
+     * Streams every row for export. The MIN_VALUE fetch size puts the MySQL driver in row-streaming mode.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select o from orders o order by o.id asc")
+    Stream<orders> streamAll();
+
+    /**
+     * Items that already have a purchase order in flight, so the reorder engine skips them.
+     */
+    @Query("select distinct o.item from orders o where o.item in :items and o.status in ('Pending', 'Partial')")
+    List<String> findOpenItems(@Param("items") Collection<String> items);
+
+    /**
+     * The supplier of the latest purchase order for each of the given items.
+     */
+    @Query("""
+            select o.item as item, o.supplier as supplier from orders o
+            where o.id in (select max(p.id) from orders p where p.item in :items group by p.item)
+            """)
+    List<itemSupplier> findLatestSuppliers(@Param("items") Collection<String> items);
+
+    /**
+     * Claims a completed order's stock receipt; 0 when it was already booked.
+     */
+    @Modifying
+    @Query(value = "update orders set stockReceived = true where id = :id and status = 'Complete' and stockReceived = false",
+            nativeQuery = true)
+    int markStockReceived(@Param("id") int id);
+
+    /**
+     * Completed orders whose stock has not been booked yet and that failed fewer than
+     * :maxAttempts times, oldest first.
+     */
+    @Query(value = """
+            select id from orders
+            where status = 'Complete' and stockReceived = false and receiptAttempts < :maxAttempts
+            order by id limit :limit
+            """, nativeQuery = true)
+    List<Integer> findUnreceivedIds(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    /**
+     * Counts a failed attempt to book the order's stock, in its own transaction.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update orders set receiptAttempts = receiptAttempts + 1 where id = :id", nativeQuery = true)
+    int countReceiptFailure(@Param("id") int id);
 }
@@ -0,0 +1,13 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Purchase order board row, read with a constructor expression so listing builds no managed entities.
+ */
+public record ordersRow(int id, String poid, String supplier, String item, int qty, String status, long version) {
+
+    public static final String[] COLUMNS = {"id", "poid", "supplier", "item", "qty", "status", "version"};
+
+    public Object[] toArray() {
+        return new Object[]{id, poid, supplier, item, qty, status, version};
+    }
+}
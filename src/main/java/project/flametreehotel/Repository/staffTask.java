@@ -0,0 +1,10 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Projection row for the open housekeeping tasks behind the turnover scheduler's staff loads.
+ */
+public interface staffTask {
+    String getStaff();
+
+    String getRoom();
+}
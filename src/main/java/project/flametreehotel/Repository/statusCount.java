@@ -0,0 +1,10 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Projection row for the GROUP BY status metrics queries.
+ */
+public interface statusCount {
+    String getStatus();
+
+    long getTotal();
+}
@@ -0,0 +1,12 @@
+package project.flametreehotel.Repository;
+
+/**
+ * Signed quantity changes for one inventory row, e.g. inStock = -3 to consume three units
+ * or damaged = 1 to mark one unit damaged.
+ */
+public record stockAdjustment(int id, int inStock, int damaged, int missing) {
+
+    public stockAdjustment plus(stockAdjustment other) {
+        return new stockAdjustment(id, inStock + other.inStock, damaged + other.damaged, missing + other.missing);
+    }
+}
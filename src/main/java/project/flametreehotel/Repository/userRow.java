@@ -0,0 +1,7 @@
+package project.flametreehotel.Repository;
+
+/**
+ * User list row for the manager dashboard; the password hash is never read.
+ */
+public record userRow(String username, String staffEmail, String role, boolean status) {
+}
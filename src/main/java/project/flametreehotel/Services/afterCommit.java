@@ -0,0 +1,28 @@
+package project.flametreehotel.Services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers a change to in-memory state (caches, the SLA queue) until the surrounding
+ * transaction commits, so a rolled-back write never reaches it. Runs the change at once
+ * when there is no transaction.
+ */
+final class afterCommit {
+
+    private afterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
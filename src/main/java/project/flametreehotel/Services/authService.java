@@ -1,72 +1,137 @@
 package project.flametreehotel.Services;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
 import project.flametreehotel.Model.users;
 import project.flametreehotel.Repository.authRepository;
+import project.flametreehotel.Repository.userRow;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class authService {
 
+    private static final String USER_CACHE = "users";
+
     private final authRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher events;
 
     /**
      * Validates login credentials.
-     * Returns null if username not found, account inactive, wrong password, or role mismatch.
+     * Returns null if username not found, account inactive, role mismatch, or wrong password.
+     * The user record comes from a short-lived cache, and the cheap checks run before the
+     * deliberately slow password hash comparison.
      */
     public users login(String username, String password, String role) {
-        users user = repository.findByUsername(username);
+        users user = findUser(username);
         if (user == null) return null;
         if (!user.isStatus()) return null;
-        if (!user.getPassword().equals(password)) return null;
         if (!user.getRole().equals(role)) return null;
+        if (!passwordMatches(user, password)) return null;
         return user;
     }
 
     /**
-     * Creates a new user account. Throws if the username is already taken.
+     * Creates a new user account. Throws if the username is already taken; the unique
+     * index on username enforces this, so there is no separate existence check.
      */
     public users createUser(String username, String staffEmail, String password, String role) {
-        if (repository.findByUsername(username) != null) {
-            throw new RuntimeException("Username already exists: " + username);
-        }
         users newUser = new users();
         newUser.setUsername(username);
         newUser.setStaffEmail(staffEmail);
-        newUser.setPassword(password);
+        newUser.setPassword(passwordEncoder.encode(password));
         newUser.setRole(role != null ? role : "");
         newUser.setStatus(true);
-        return repository.save(newUser);
+        users saved;
+        try {
+            saved = repository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Username already exists: " + username);
+        }
+        userCache().evict(username);
+        return saved;
     }
 
     /**
-     * Assigns a role to an existing user.
+     * Assigns a role to an existing user. A concurrent change to the same account surfaces
+     * as OptimisticLockingFailureException.
      */
     public users assignRole(String username, String role) {
         users user = repository.findByUsername(username);
         if (user == null) throw new RuntimeException("User not found: " + username);
         user.setRole(role);
-        return repository.save(user);
+        users saved = repository.save(user);
+        userCache().evict(username);
+        return saved;
     }
 
     /**
-     * Activates or deactivates a user account.
+     * Activates or deactivates a user account. Deactivating publishes staffDeactivatedEvent,
+     * which hands a housekeeper's open tasks to the rest of the team.
      */
     public users setStatus(String username, boolean active) {
         users user = repository.findByUsername(username);
         if (user == null) throw new RuntimeException("User not found: " + username);
+        boolean wasActive = user.isStatus();
         user.setStatus(active);
-        return repository.save(user);
+        users saved = repository.save(user);
+        userCache().evict(username);
+        if (wasActive && !active) events.publishEvent(new staffDeactivatedEvent(saved.getUsername(), saved.getRole()));
+        return saved;
     }
 
     /**
-     * Returns all users in the system.
+     * Returns all users in the system as list rows (no password hashes).
      */
-    public List<users> getAllUsers() {
-        return repository.findAll();
+    public List<userRow> getAllUsers() {
+        return repository.findAllRows();
+    }
+
+    private users findUser(String username) {
+        return userCache().get(username, () -> repository.findByUsername(username));
+    }
+
+    /**
+     * Checks the password against the stored BCrypt hash. Accounts created before hashing
+     * still hold the plaintext password; a successful login upgrades them to a hash.
+     */
+    private boolean passwordMatches(users user, String password) {
+        String stored = user.getPassword();
+        if (stored == null) return false;
+        if (isHashed(stored)) {
+            return passwordEncoder.matches(password, stored);
+        }
+        if (!stored.equals(password)) return false;
+
+        users current = repository.findByUsername(user.getUsername());
+        if (current != null && Objects.equals(current.getPassword(), stored)) {
+            current.setPassword(passwordEncoder.encode(password));
+            try {
+                repository.save(current);
+            } catch (OptimisticLockingFailureException e) {
+                // Changed concurrently; the next successful login retries the upgrade.
+            }
+        }
+        userCache().evict(user.getUsername());
+        return true;
+    }
+
+    private static boolean isHashed(String stored) {
+        return stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$");
+    }
+
+    private Cache userCache() {
+        return Objects.requireNonNull(cacheManager.getCache(USER_CACHE), USER_CACHE);
     }
 }
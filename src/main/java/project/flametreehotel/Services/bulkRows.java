@@ -0,0 +1,164 @@
+package project.flametreehotel.Services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Reads bulk-import bodies line by line, either CSV with a header row or JSON lines,
+ * and hands the parsed rows to the caller in fixed-size chunks so the whole upload is
+ * never held in memory. A quoted CSV field may span lines, as the exporter writes them.
+ */
+public final class bulkRows {
+
+    public static final int CHUNK_SIZE = 500;
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_RECORD_CHARS = 65_536;
+
+    /**
+     * One parsed input record; line is where it starts.
+     */
+    public record row(int line, Map<String, Object> values) {
+
+        public String text(String name) {
+            Object value = values.get(name);
+            if (value == null) return null;
+            String text = value.toString().trim();
+            return text.isEmpty() ? null : text;
+        }
+
+        public int number(String name) {
+            Object value = values.get(name);
+            if (value instanceof Number n) return n.intValue();
+            String text = text(name);
+            return text != null ? Integer.parseInt(text) : 0;
+        }
+    }
+
+    /**
+     * Counts returned by the import endpoints. errors holds at most the first 100 problems.
+     */
+    public record importResult(int inserted, int skipped, List<String> errors) {
+    }
+
+    private bulkRows() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void read(BufferedReader reader, boolean csv, ObjectMapper mapper,
+                            Consumer<List<row>> chunkHandler, List<String> errors) {
+        try {
+            List<row> chunk = new ArrayList<>(CHUNK_SIZE);
+            String[] header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                int start = lineNumber;
+                if (csv && openQuote(line)) {
+                    StringBuilder record = new StringBuilder(line);
+                    String next;
+                    while (openQuote(record) && record.length() <= MAX_RECORD_CHARS
+                            && (next = reader.readLine()) != null) {
+                        lineNumber++;
+                        record.append('\n').append(next);
+                    }
+                    if (openQuote(record)) {
+                        error(errors, start, "has an unterminated quoted field");
+                        continue;
+                    }
+                    line = record.toString();
+                }
+                try {
+                    if (csv && header == null) {
+                        header = csvFields(line).toArray(String[]::new);
+                        continue;
+                    }
+                    Map<String, Object> values = csv ? csvRow(header, line) : mapper.readValue(line, Map.class);
+                    chunk.add(new row(start, values));
+                } catch (RuntimeException e) {
+                    error(errors, start, "could not be parsed");
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    chunkHandler.accept(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) chunkHandler.accept(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void error(List<String> errors, int line, String message) {
+        if (errors.size() < MAX_ERRORS) errors.add("Line " + line + ": " + message);
+    }
+
+    /**
+     * Quotes a value for CSV output when it contains a separator, quote or line break.
+     */
+    public static String csv(Object value) {
+        String text = value != null ? value.toString() : "";
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * True when the text ends inside a quoted field: escaped quotes come in pairs, so an odd
+     * number of quote characters means one is still open.
+     */
+    private static boolean openQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') quotes++;
+        }
+        return quotes % 2 == 1;
+    }
+
+    private static Map<String, Object> csvRow(String[] header, String line) {
+        List<String> fields = csvFields(line);
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < header.length && i < fields.size(); i++) {
+            values.put(header[i].trim(), fields.get(i));
+        }
+        return values;
+    }
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
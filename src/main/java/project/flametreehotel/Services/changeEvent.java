@@ -0,0 +1,8 @@
+package project.flametreehotel.Services;
+
+/**
+ * One row-level change for a module's live feed. type is "saved" or "deleted"; "reload"
+ * (with id 0 and no row) tells clients to refetch, e.g. after a bulk import.
+ */
+public record changeEvent(String module, String type, int id, Object row) {
+}
@@ -0,0 +1,388 @@
+package project.flametreehotel.Services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import project.flametreehotel.Repository.changeLogRepository;
+import project.flametreehotel.Repository.changeRow;
+
+/**
+ * Row changes per module, recorded and pushed. Every write appends to change_log in the same
+ * transaction as the row itself; its seq, taken from a counter row that stays locked until
+ * the commit, is the change sequence behind GET /{module}/changes?since=. Each change is
+ * also pushed over Server-Sent Events once the surrounding transaction commits (or
+ * immediately when there is none), carrying only the changed row so open screens patch
+ * their table instead of refetching /list. The streams are written by a small sender pool,
+ * never by the thread that published the change. SSE ids are per module and in memory:
+ * the last few hundred events are kept so a reconnecting EventSource resumes from its
+ * Last-Event-ID, and a client that fell further behind, or saw a previous server run, is
+ * told to reload.
+ * The weak ETag of a module's /list pages is the latest seq logged for it, one indexed
+ * read: a board polled with If-None-Match gets 304 without the page query until something
+ * in that module commits, and the tag holds across instances and restarts.
+ */
+@Component
+@Slf4j
+public class changeFeed {
+
+    private static final int MAX_CHANGES = 1000;
+
+    private final ApplicationEventPublisher events;
+    private final changeLogRepository changes;
+    private final TransactionTemplate transactions;
+    private final int historySize;
+    private final long timeoutMs;
+    private final Duration retention;
+    private final Map<String, moduleFeed> feeds = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+
+    public changeFeed(ApplicationEventPublisher events, changeLogRepository changes,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${hotel.feed.history-size:500}") int historySize,
+                      @Value("${hotel.feed.timeout-ms:1800000}") long timeoutMs,
+                      @Value("${hotel.changes.retention-days:30}") int retentionDays,
+                      @Value("${hotel.feed.sender-threads:4}") int senderThreads) {
+        this.events = events;
+        this.changes = changes;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.historySize = historySize;
+        this.timeoutMs = timeoutMs;
+        this.retention = Duration.ofDays(retentionDays);
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "change-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Runs a write and the change-log rows it records in one transaction, for paths that
+     * cannot be @Transactional methods themselves (an import chunk, an async listener).
+     */
+    public void atomically(Runnable write) {
+        transactions.executeWithoutResult(status -> write.run());
+    }
+
+    /**
+     * Records one saved row. Like the other record methods it must run inside the write's
+     * transaction, so the row and its change-log entry commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saved(String module, int id, Object row) {
+        changes.recordAll(module, List.of(id), false, Instant.now());
+        events.publishEvent(new changeEvent(module, "saved", id, row));
+    }
+
+    /**
+     * Records many updated rows with one batched insert and pushes each of them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void savedAll(String module, List<T> rows, Function<T, Integer> idOf) {
+        if (rows.isEmpty()) return;
+        changes.recordAll(module, rows.stream().map(idOf).toList(), false, Instant.now());
+        rows.forEach(row -> events.publishEvent(new changeEvent(module, "saved", idOf.apply(row), row)));
+    }
+
+    /**
+     * Records rows written by a bulk path; live screens get one reload instead of per-row events.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bulkSaved(String module, Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+        changes.recordAll(module, ids, false, Instant.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(String module, int id) {
+        changes.recordAll(module, List.of(id), true, Instant.now());
+        events.publishEvent(new changeEvent(module, "deleted", id, null));
+    }
+
+    public void reload(String module) {
+        events.publishEvent(new changeEvent(module, "reload", 0, null));
+    }
+
+    /**
+     * Weak ETag for the module's list pages; changes whenever a write to the module commits.
+     */
+    public String listTag(String module) {
+        return "W/\"" + module + "-" + changes.findModuleHead(module) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(changeEvent event) {
+        feed(event.module()).publish(event);
+    }
+
+    /**
+     * Opens a stream for one module, first replaying anything after lastEventId.
+     */
+    public SseEmitter subscribe(String module, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        feed(module).register(emitter, parseId(lastEventId));
+        return emitter;
+    }
+
+    /**
+     * Rows of a module changed after sequence since, at most limit (default 200, max 1000)
+     * per call. since = 0, or a sequence older than the retained log, returns reset.
+     */
+    @Transactional(readOnly = true)
+    public <T> changeSet<T> changesSince(String module, long since, Integer limit,
+                                         Function<Collection<Integer>, List<T>> loader,
+                                         Function<T, Integer> idOf) {
+        long head = changes.findHead();
+        if (since <= 0 || since < changes.findOldest() - 1) {
+            return changeSet.reset(head);
+        }
+
+        int pageSize = limit == null || limit < 1 ? pageCursor.MAX_LIMIT : Math.min(limit, MAX_CHANGES);
+        List<changeRow> rows = changes.findChanges(module, since, Limit.of(pageSize + 1));
+        boolean more = rows.size() > pageSize;
+        if (more) rows = rows.subList(0, pageSize);
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).getSeq();
+
+        List<Integer> savedIds = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        for (changeRow row : rows) {
+            (row.getDeleted() > 0 ? deleted : savedIds).add(row.getRowId());
+        }
+        List<T> saved = savedIds.isEmpty() ? List.of() : loader.apply(savedIds);
+        Set<Integer> found = new HashSet<>();
+        saved.forEach(row -> found.add(idOf.apply(row)));
+        for (Integer id : savedIds) {
+            // Deleted after the log was read but before the rows were loaded.
+            if (!found.contains(id)) deleted.add(id);
+        }
+        return new changeSet<>(saved, deleted, next, more, false);
+    }
+
+    /**
+     * Drops change-log entries past the retention window once a day, keeping each module's
+     * latest one so its list tag never falls back to a value handed out before.
+     */
+    @Scheduled(cron = "${hotel.changes.prune-cron:0 30 3 * * *}")
+    public void prune() {
+        List<Long> heads = changes.findModuleHeads();
+        if (heads.isEmpty()) return;
+        int removed = changes.deleteOlderThan(Instant.now().minus(retention), heads);
+        if (removed > 0) log.info("Pruned {} change-log entries", removed);
+    }
+
+    /**
+     * Comment line every 25 seconds so proxies do not close idle streams.
+     */
+    @Scheduled(fixedDelay = 25000)
+    public void heartbeat() {
+        feeds.values().forEach(moduleFeed::heartbeat);
+    }
+
+    private moduleFeed feed(String module) {
+        return feeds.computeIfAbsent(module, key -> new moduleFeed());
+    }
+
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return null;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private record entry(long id, changeEvent event) {
+    }
+
+    // Queued to an idle stream in place of an event; sent as an SSE comment.
+    private static final entry KEEP_ALIVE = new entry(0, null);
+
+    /**
+     * One open stream and the events waiting to be written to it. Publishers only append
+     * here; a sender thread drains the queue, one drain at a time per stream, so events
+     * reach each client in order and a slow client only delays itself. A client that falls
+     * more than the history size behind could not resume anyway, so its backlog is replaced
+     * by a reload.
+     */
+    private final class subscriber {
+
+        private final SseEmitter emitter;
+        private final moduleFeed feed;
+        private final Deque<entry> queue = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean draining;
+        private boolean closed;
+
+        subscriber(SseEmitter emitter, moduleFeed feed) {
+            this.emitter = emitter;
+            this.feed = feed;
+        }
+
+        void enqueue(entry next) {
+            lock.lock();
+            try {
+                if (closed) return;
+                if (next == KEEP_ALIVE && (draining || !queue.isEmpty())) return;
+                if (queue.size() >= historySize) {
+                    queue.clear();
+                    next = new entry(next.id(), new changeEvent(null, "reload", 0, null));
+                }
+                queue.addLast(next);
+                if (draining) return;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            sender.execute(this::drain);
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                queue.clear();
+            } finally {
+                lock.unlock();
+            }
+            feed.emitters.remove(this);
+        }
+
+        private void drain() {
+            while (true) {
+                entry next;
+                lock.lock();
+                try {
+                    next = queue.pollFirst();
+                    if (next == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (!send(next)) {
+                    close();
+                    lock.lock();
+                    try {
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean send(entry entry) {
+            changeEvent event = entry.event();
+            try {
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.id()))
+                            .name(event.type())
+                            .data(event.row() != null ? Map.of("id", event.id(), "row", event.row()) : Map.of("id", event.id()),
+                                    MediaType.APPLICATION_JSON));
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropped change feed subscriber: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private final class moduleFeed {
+
+        private final Deque<entry> history = new ArrayDeque<>();
+        private final List<subscriber> emitters = new CopyOnWriteArrayList<>();
+        // Held only to order events and hand them to the subscriber queues, never across a
+        // socket write, so a writer's commit thread does no network I/O.
+        private final ReentrantLock lock = new ReentrantLock();
+        // Starting from the clock keeps ids increasing across restarts, so an id from a
+        // previous run is recognisably outside this run's history.
+        private long sequence = System.currentTimeMillis();
+
+        void publish(changeEvent event) {
+            lock.lock();
+            try {
+                entry next = new entry(++sequence, event);
+                history.addLast(next);
+                if (history.size() > historySize) history.removeFirst();
+                for (subscriber subscriber : emitters) {
+                    subscriber.enqueue(next);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void register(SseEmitter emitter, Long lastEventId) {
+            subscriber subscriber = new subscriber(emitter, this);
+            emitter.onCompletion(subscriber::close);
+            emitter.onTimeout(subscriber::close);
+            emitter.onError(e -> subscriber.close());
+
+            lock.lock();
+            try {
+                emitters.add(subscriber);
+                if (lastEventId == null) return;
+                entry oldest = history.peekFirst();
+                boolean covered = lastEventId <= sequence
+                        && (lastEventId == sequence || (oldest != null && oldest.id() <= lastEventId + 1));
+                if (!covered) {
+                    subscriber.enqueue(new entry(sequence, new changeEvent(null, "reload", 0, null)));
+                    return;
+                }
+                for (entry past : history) {
+                    if (past.id() > lastEventId) subscriber.enqueue(past);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void heartbeat() {
+            for (subscriber subscriber : emitters) {
+                subscriber.enqueue(KEEP_ALIVE);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package project.flametreehotel.Services;
+
+import java.util.List;
+
+/**
+ * Result of a delta sync. saved holds the current state of rows inserted or updated after
+ * the requested sequence, deleted the ids removed since then. Clients store next and pass
+ * it as since on the following call; more means another call is needed to catch up. reset
+ * means the requested point is no longer covered, so the client reloads the full list and
+ * continues from next.
+ */
+public record changeSet<T>(List<T> saved, List<Integer> deleted, long next, boolean more, boolean reset) {
+
+    static <T> changeSet<T> reset(long head) {
+        return new changeSet<>(List.of(), List.of(), head, false, true);
+    }
+}
@@ -0,0 +1,75 @@
+package project.flametreehotel.Services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Write-through side of the entity caches. Each entity has a by-id cache ("name") and a
+ * by-business-key cache ("name.key"), both filled by @Cacheable lookups in the services.
+ * Writes replace the by-id entry and drop the business-key entries, old and new, so a
+ * renamed key never serves a stale row. Inside a transaction the cache is only touched once
+ * it commits, so a rolled-back write never reaches it.
+ */
+@Component
+@RequiredArgsConstructor
+public class entityCache {
+
+    private final CacheManager cacheManager;
+
+    public void saved(String name, int id, Object entity, String previousKey, String key) {
+        afterCommit.run(() -> {
+            byId(name).put(id, entity);
+            evictKeys(name, previousKey, key);
+        });
+    }
+
+    public void deleted(String name, int id, String key) {
+        afterCommit.run(() -> {
+            byId(name).evict(id);
+            evictKeys(name, key, null);
+        });
+    }
+
+    /**
+     * Hit, miss and eviction counts for every cache, for GET /cache/stats.
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache cache)) continue;
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.getNativeCache().estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            result.put(cacheName, entry);
+        }
+        return result;
+    }
+
+    private void evictKeys(String name, String first, String second) {
+        Cache keys = byKey(name);
+        if (first != null) keys.evict(first);
+        if (second != null && !Objects.equals(first, second)) keys.evict(second);
+    }
+
+    private Cache byId(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+
+    private Cache byKey(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name + ".key"), name + ".key");
+    }
+}
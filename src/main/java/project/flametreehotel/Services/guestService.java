@@ -1,55 +1,279 @@
 package project.flametreehotel.Services;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import project.flametreehotel.Model.guest;
+import project.flametreehotel.Repository.guestQueueRow;
 import project.flametreehotel.Repository.guestRepository;
+import project.flametreehotel.Repository.guestRow;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class guestService {
 
     private final guestRepository repository;
+    private final entityCache cache;
+    private final changeFeed feed;
+    private final hotelMetrics metrics;
+    private final slaPolicy sla;
+    private final EntityManager entityManager;
+    private final statusCounters counters = new statusCounters();
+    private final slaQueue queue = new slaQueue();
 
-    public List<guest> getAllRequests() {
-        return repository.findAll();
+    /**
+     * Returns one keyset page of guest requests ordered by id, optionally filtered by status and assignee.
+     */
+    @Transactional(readOnly = true)
+    public pageResult<guestRow> listRequests(String after, Integer limit, String status, String assignedStaff) {
+        pageCursor cursor = pageCursor.decode(after);
+        int pageSize = pageCursor.clampLimit(limit);
+        List<guestRow> rows = repository.findPage(cursor.afterId(), pageCursor.filter(status),
+                pageCursor.filter(assignedStaff), Limit.of(pageSize + 1));
+        return pageResult.of(rows, pageSize, g -> new pageCursor(g.id(), null));
     }
 
-    public guest addRequest(String requestId, String guestRoom, String request, String assignedStaff, String status) {
-        if (repository.findByRequestId(requestId).isPresent()) {
-            throw new RuntimeException("Request ID already exists. Please use a unique Request ID.");
+    /**
+     * Returns the per-status counts from the in-memory counters; no database round trip.
+     */
+    public statusMetrics getMetrics() {
+        return counters.snapshot();
+    }
+
+    /**
+     * Rebuilds the counters from a GROUP BY query once the application is up and then on a fixed schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void reconcileMetrics() {
+        counters.reset(repository.countByStatus());
+    }
+
+    /**
+     * Rebuilds the SLA queue from the open requests, on the same schedule as the counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void rebuildQueue() {
+        queue.beginRebuild();
+        queue.finishRebuild(repository.findOpenQueue().stream().map(sla::entry).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * The department's next requests to serve, from memory.
+     */
+    public List<guestQueueRow> nextRequests(String department, int limit) {
+        return queue.next(department, limit);
+    }
+
+    /**
+     * The next request of every department, from memory.
+     */
+    public Map<String, guestQueueRow> nextPerDepartment() {
+        return queue.heads();
+    }
+
+    /**
+     * Open requests already past their deadline, or due within the given minutes, from memory.
+     */
+    public List<guestQueueRow> breaching(int withinMinutes, int limit) {
+        return queue.dueBefore(Instant.now().plus(Duration.ofMinutes(withinMinutes)), limit);
+    }
+
+    /**
+     * Raises overdue requests one priority level, at most one batch per run: one UPDATE per
+     * current priority, guarded by that priority, and one read-back. Only the rows the sweep
+     * actually raised go to the queue, caches and change feed, the queue and caches once the
+     * sweep commits; a row edited meanwhile was already put there by the edit, from newer
+     * data than this transaction may see.
+     */
+    @Scheduled(fixedDelayString = "${hotel.sla.sweep-ms:30000}", initialDelayString = "${hotel.sla.sweep-ms:30000}")
+    @Transactional
+    public void escalateOverdue() {
+        List<slaQueue.entry> due = queue.dueForEscalation(Instant.now(), sla.batchSize());
+        if (due.isEmpty()) return;
+
+        Map<String, List<Integer>> byPriority = new LinkedHashMap<>();
+        Map<Integer, guestQueueRow> before = new HashMap<>();
+        for (slaQueue.entry entry : due) {
+            byPriority.computeIfAbsent(entry.row().priority(), p -> new ArrayList<>()).add(entry.row().id());
+            before.put(entry.row().id(), entry.row());
+        }
+        int escalated = 0;
+        for (Map.Entry<String, List<Integer>> group : byPriority.entrySet()) {
+            escalated += repository.escalate(group.getValue(), group.getKey(), sla.escalated(group.getKey()));
         }
+        if (escalated == 0) return;
 
+        List<guest> rows = new ArrayList<>();
+        Map<Integer, slaQueue.entry> entries = new HashMap<>();
+        for (guest row : repository.findAllById(before.keySet())) {
+            guestQueueRow previous = before.get(row.getId());
+            boolean raised = row.getEscalations() == previous.escalations() + 1
+                    && row.getPriority().equals(sla.escalated(previous.priority()));
+            if (!raised) continue;
+            rows.add(row);
+            cache.saved("guest", row.getId(), row, row.getRequestId(), row.getRequestId());
+            entries.put(row.getId(), sla.entry(guestQueueRow.of(row)));
+        }
+        afterCommit.run(() -> entries.forEach(queue::put));
+        feed.savedAll("guest", rows, guest::getId);
+        metrics.escalated(escalated);
+        log.info("SLA sweep escalated {} overdue guest requests", escalated);
+    }
+
+    /**
+     * Guest requests inserted, updated or deleted after change sequence since; see changeFeed.
+     */
+    public changeSet<guest> changesSince(long since, Integer limit) {
+        return feed.changesSince("guest", since, limit, repository::findAllById, guest::getId);
+    }
+
+    @Cacheable(cacheNames = "guest", key = "#id")
+    public guest getRequest(int id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Request not found."));
+    }
+
+    @Cacheable(cacheNames = "guest.key", key = "#requestId")
+    public guest findRequestByRequestId(String requestId) {
+        return repository.findByRequestId(requestId)
+                .orElseThrow(() -> new RuntimeException("Request not found."));
+    }
+
+    /**
+     * Adds a request stamped now, with its deadline from the priority (Normal when blank) and
+     * its department from the request type unless one is given.
+     */
+    @Transactional
+    public guest addRequest(String requestId, String guestRoom, String request, String assignedStaff, String status,
+                            String priority, String department) {
         guest newRequest = new guest();
         newRequest.setRequestId(requestId);
         newRequest.setGuestRoom(guestRoom);
         newRequest.setRequest(request);
         newRequest.setAssignedStaff(assignedStaff);
         newRequest.setStatus(status);
+        newRequest.setCreatedAt(Instant.now());
+        newRequest.setDepartment(sla.department(department, request));
+        newRequest.setPriority(sla.priority(priority));
+        newRequest.setDueAt(sla.dueAt(newRequest.getCreatedAt(), newRequest.getPriority()));
 
-        return repository.save(newRequest);
+        guest saved = saveChecked(newRequest);
+        counters.added(saved.getStatus());
+        queueAfterCommit(saved);
+        cache.saved("guest", saved.getId(), saved, null, saved.getRequestId());
+        feed.saved("guest", saved.getId(), saved);
+        metrics.requestOpened("guest");
+        return saved;
     }
 
-    public guest updateRequest(int id, String requestId, String guestRoom, String request, String assignedStaff, String status) {
+    /**
+     * Updates a request. A null priority or department keeps the current one; a new priority
+     * moves the deadline to creation time plus its target and clears the escalation count.
+     */
+    @Transactional
+    public guest updateRequest(int id, String requestId, String guestRoom, String request, String assignedStaff, String status,
+                               String priority, String department, Long expectedVersion) {
         guest existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Request not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Request");
 
+        String previousKey = existing.getRequestId();
+        String previousStatus = existing.getStatus();
         existing.setRequestId(requestId);
         existing.setGuestRoom(guestRoom);
         existing.setRequest(request);
         existing.setAssignedStaff(assignedStaff);
         existing.setStatus(status);
+        if (department != null && !department.isBlank()) existing.setDepartment(department.trim());
+        if (priority != null) {
+            String next = sla.priority(priority);
+            if (!next.equals(existing.getPriority())) {
+                existing.setPriority(next);
+                existing.setDueAt(sla.dueAt(existing.getCreatedAt(), next));
+                existing.setEscalations(0);
+            }
+        }
 
-        return repository.save(existing);
+        guest saved = saveChecked(existing);
+        counters.changed(previousStatus, saved.getStatus());
+        queueAfterCommit(saved);
+        cache.saved("guest", saved.getId(), saved, previousKey, saved.getRequestId());
+        feed.saved("guest", saved.getId(), saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteRequest(int id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Request not found.");
+        guest existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Request not found."));
+        repository.delete(existing);
+        cache.deleted("guest", id, existing.getRequestId());
+        feed.deleted("guest", id);
+        counters.removed(existing.getStatus());
+        afterCommit.run(() -> queue.remove(id));
+    }
+
+    /**
+     * Puts the saved row's queue entry once the write commits; the queue is shared, so a
+     * rolled-back write must not leave an entry the sweeper would act on.
+     */
+    private void queueAfterCommit(guest saved) {
+        int id = saved.getId();
+        slaQueue.entry entry = sla.entry(guestQueueRow.of(saved));
+        afterCommit.run(() -> queue.put(id, entry));
+    }
+
+    /**
+     * Saves the row, mapping a unique-index violation on the business key to the duplicate
+     * message (so creates need no existence pre-read) and a stale @Version to a conflict.
+     */
+    private guest saveChecked(guest row) {
+        try {
+            return repository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Request ID already exists. Please use a unique Request ID.");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionCheck.conflict("Request");
+        }
+    }
+
+    /**
+     * Streams every request to the sink in id order, detaching each row once written so the
+     * persistence context stays empty however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportRequests(Consumer<guest> sink) {
+        try (Stream<guest> rows = repository.streamAll()) {
+            rows.forEach(request -> {
+                sink.accept(request);
+                entityManager.detach(request);
+            });
         }
-        repository.deleteById(id);
     }
 }
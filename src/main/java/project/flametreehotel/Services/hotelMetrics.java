@@ -0,0 +1,93 @@
+package project.flametreehotel.Services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Business event counters for /actuator/prometheus, next to the request, repository, cache
+ * and connection-pool meters Spring Boot registers on its own. Stock events are counted
+ * from the application events the inventory and order services already publish.
+ */
+@Component
+public class hotelMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter ticketsOpened;
+    private final Counter lowStock;
+    private final Counter ordersReceived;
+    private final Counter escalations;
+
+    public hotelMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.ticketsOpened = Counter.builder("hotel.tickets.opened")
+                .description("Maintenance tickets opened")
+                .register(registry);
+        this.lowStock = Counter.builder("hotel.stock.low")
+                .description("Inventory items that moved into Low Stock")
+                .register(registry);
+        this.ordersReceived = Counter.builder("hotel.orders.received")
+                .description("Purchase orders marked Complete")
+                .register(registry);
+        this.escalations = Counter.builder("hotel.sla.escalations")
+                .description("Overdue guest requests raised a priority level by the SLA sweeper")
+                .register(registry);
+    }
+
+    public void requestOpened(String module) {
+        Counter.builder("hotel.requests.opened")
+                .description("Housekeeping tasks and guest requests created")
+                .tag("module", module)
+                .register(registry)
+                .increment();
+    }
+
+    public void approved(String module) {
+        Counter.builder("hotel.approvals")
+                .description("Completed tasks and repaired tickets approved by a supervisor")
+                .tag("module", module)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Time the turnover scheduler took to decide an assignment (roster and load reads plus
+     * the plan), per trigger: add, wave or rebalance.
+     */
+    public void turnoverPlanned(String trigger, int rooms, long nanos) {
+        Timer.builder("hotel.turnover.decision")
+                .description("Housekeeping assignment decision latency")
+                .tag("trigger", trigger)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("hotel.turnover.rooms")
+                .description("Rooms assigned by the turnover scheduler")
+                .tag("trigger", trigger)
+                .register(registry)
+                .increment(rooms);
+    }
+
+    public void escalated(int requests) {
+        escalations.increment(requests);
+    }
+
+    public void ticketOpened() {
+        ticketsOpened.increment();
+    }
+
+    @EventListener
+    public void onLowStock(lowStockEvent event) {
+        lowStock.increment();
+    }
+
+    @EventListener
+    public void onOrderReceived(orderReceivedEvent event) {
+        ordersReceived.increment();
+    }
+}
@@ -1,43 +1,220 @@
 package project.flametreehotel.Services;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import project.flametreehotel.Model.housekeeping;
 import project.flametreehotel.Repository.housekeepingRepository;
+import project.flametreehotel.Repository.housekeepingRow;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class housekeepingService {
 
+    private static final String ASSIGNED = "Assigned";
+    private static final DateTimeFormatter WAVE_STAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final housekeepingRepository repository;
+    private final entityCache cache;
+    private final changeFeed feed;
+    private final hotelMetrics metrics;
+    private final turnoverScheduler scheduler;
+    private final EntityManager entityManager;
+    private final statusCounters counters = new statusCounters();
 
-    public List<housekeeping> getAllTasks() {
-        return repository.findAll();
+    /**
+     * Returns one keyset page of tasks ordered by id, optionally filtered by status and assignee.
+     */
+    @Transactional(readOnly = true)
+    public pageResult<housekeepingRow> listTasks(String after, Integer limit, String status, String assignedStaff) {
+        pageCursor cursor = pageCursor.decode(after);
+        int pageSize = pageCursor.clampLimit(limit);
+        List<housekeepingRow> rows = repository.findPage(cursor.afterId(), pageCursor.filter(status),
+                pageCursor.filter(assignedStaff), Limit.of(pageSize + 1));
+        return pageResult.of(rows, pageSize, t -> new pageCursor(t.id(), null));
     }
 
-    public housekeeping addTask(String requestId, String room, String requestType, String assignedStaff, String taskStatus) {
-        if (repository.findByRequestId(requestId).isPresent()) {
-            throw new RuntimeException("Request ID already exists. Please use a unique request ID.");
-        }
+    /**
+     * Returns the per-status counts from the in-memory counters; no database round trip.
+     */
+    public statusMetrics getMetrics() {
+        return counters.snapshot();
+    }
 
+    /**
+     * Rebuilds the counters from a GROUP BY query once the application is up and then on a fixed schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void reconcileMetrics() {
+        counters.reset(repository.countByStatus());
+    }
+
+    /**
+     * Tasks inserted, updated or deleted after change sequence since; see changeFeed.
+     */
+    public changeSet<housekeeping> changesSince(long since, Integer limit) {
+        return feed.changesSince("housekeeping", since, limit, repository::findAllById, housekeeping::getId);
+    }
+
+    @Cacheable(cacheNames = "housekeeping", key = "#id")
+    public housekeeping getTask(int id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found."));
+    }
+
+    @Cacheable(cacheNames = "housekeeping.key", key = "#requestId")
+    public housekeeping findTaskByRequestId(String requestId) {
+        return repository.findByRequestId(requestId)
+                .orElseThrow(() -> new RuntimeException("Task not found."));
+    }
+
+    /**
+     * Adds one task. A blank assignedStaff lets the turnover scheduler pick the housekeeper.
+     */
+    @Transactional
+    public housekeeping addTask(String requestId, String room, String requestType, String assignedStaff, String taskStatus) {
         housekeeping task = new housekeeping();
         task.setRequestId(requestId);
         task.setRoom(room);
         task.setRequestType(requestType);
-        task.setAssignedStaff(assignedStaff);
+        task.setAssignedStaff(assignedStaff == null || assignedStaff.isBlank()
+                ? scheduler.assign(List.of(room), Set.of(), "add").get(0)
+                : assignedStaff);
         task.setTaskStatus(taskStatus);
         task.setApproved(false);
 
-        return repository.save(task);
+        housekeeping saved = saveChecked(task);
+        counters.added(saved.getTaskStatus());
+        cache.saved("housekeeping", saved.getId(), saved, null, saved.getRequestId());
+        feed.saved("housekeeping", saved.getId(), saved);
+        metrics.requestOpened("housekeeping");
+        return saved;
+    }
+
+    /**
+     * Creates one task per room (e.g. a floor's checkouts) with request IDs TW-<stamp>-<n>,
+     * assigned by the turnover scheduler in one plan and saved in one transaction.
+     */
+    @Transactional
+    public List<housekeeping> addWave(List<String> rooms, String requestType) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(rooms));
+        List<String> staff = scheduler.assign(distinct, Set.of(), "wave");
+
+        String stamp = LocalDateTime.now().format(WAVE_STAMP);
+        List<housekeeping> wave = new ArrayList<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            housekeeping task = new housekeeping();
+            task.setRequestId(String.format("TW-%s-%03d", stamp, i + 1));
+            task.setRoom(distinct.get(i));
+            task.setRequestType(requestType);
+            task.setAssignedStaff(staff.get(i));
+            task.setTaskStatus(ASSIGNED);
+            task.setApproved(false);
+            wave.add(task);
+        }
+
+        List<housekeeping> saved;
+        try {
+            saved = repository.saveAll(wave);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("A wave was already created this second. Please try again.");
+        }
+        for (housekeeping task : saved) {
+            counters.added(task.getTaskStatus());
+            cache.saved("housekeeping", task.getId(), task, null, task.getRequestId());
+            metrics.requestOpened("housekeeping");
+        }
+        feed.savedAll("housekeeping", saved, housekeeping::getId);
+        return saved;
     }
 
-    public housekeeping updateTask(int id, String requestId, String room, String requestType, String assignedStaff, String taskStatus) {
+    /**
+     * Hands a deactivated housekeeper's unfinished tasks to the remaining staff, once the
+     * account change has committed and off the request thread. Reassigned tasks go back to
+     * Assigned. Each task is saved on its own, so one edited meanwhile (a stale version) is
+     * left as it is and logged for a supervisor, while the rest are still reassigned.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffDeactivated(staffDeactivatedEvent event) {
+        if (!turnoverScheduler.HOUSEKEEPING_ROLE.equals(event.role())) return;
+        List<housekeeping> open = repository.findOpenByStaff(event.username());
+        if (open.isEmpty()) return;
+
+        List<String> staff;
+        try {
+            staff = scheduler.assign(open.stream().map(housekeeping::getRoom).toList(),
+                    Set.of(event.username()), "rebalance");
+        } catch (RuntimeException e) {
+            log.warn("Tasks of deactivated housekeeper {} not reassigned: {}", event.username(), e.getMessage());
+            return;
+        }
+
+        int reassigned = 0;
+        List<String> skipped = new ArrayList<>();
+        for (int i = 0; i < open.size(); i++) {
+            housekeeping task = open.get(i);
+            String previousStatus = task.getTaskStatus();
+            task.setAssignedStaff(staff.get(i));
+            task.setTaskStatus(ASSIGNED);
+            housekeeping[] saved = new housekeeping[1];
+            try {
+                feed.atomically(() -> {
+                    saved[0] = repository.save(task);
+                    feed.saved("housekeeping", saved[0].getId(), saved[0]);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                skipped.add(task.getRequestId());
+                continue;
+            } catch (RuntimeException e) {
+                log.warn("Task {} of deactivated housekeeper {} not reassigned: {}",
+                        task.getRequestId(), event.username(), e.getMessage());
+                skipped.add(task.getRequestId());
+                continue;
+            }
+            counters.changed(previousStatus, saved[0].getTaskStatus());
+            cache.saved("housekeeping", saved[0].getId(), saved[0], saved[0].getRequestId(), saved[0].getRequestId());
+            reassigned++;
+        }
+        log.info("Reassigned {} open tasks from deactivated housekeeper {}", reassigned, event.username());
+        if (!skipped.isEmpty()) {
+            log.warn("Tasks of deactivated housekeeper {} changed meanwhile or failed, reassign by hand: {}",
+                    event.username(), skipped);
+        }
+    }
+
+    @Transactional
+    public housekeeping updateTask(int id, String requestId, String room, String requestType, String assignedStaff, String taskStatus, Long expectedVersion) {
         housekeeping existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Task");
 
+        String previousKey = existing.getRequestId();
+        String previousStatus = existing.getTaskStatus();
         existing.setRequestId(requestId);
         existing.setRoom(room);
         existing.setRequestType(requestType);
@@ -45,25 +222,67 @@ public class housekeepingService {
         existing.setTaskStatus(taskStatus);
         existing.setApproved(false);
 
-        return repository.save(existing);
+        housekeeping saved = saveChecked(existing);
+        counters.changed(previousStatus, saved.getTaskStatus());
+        cache.saved("housekeeping", saved.getId(), saved, previousKey, saved.getRequestId());
+        feed.saved("housekeeping", saved.getId(), saved);
+        return saved;
     }
 
-    public housekeeping setApproval(int id, boolean approved) {
+    @Transactional
+    public housekeeping setApproval(int id, boolean approved, Long expectedVersion) {
         housekeeping existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Task");
 
         if (!"Completed".equalsIgnoreCase(existing.getTaskStatus())) {
             throw new RuntimeException("Only completed tasks can be approved.");
         }
 
+        boolean wasApproved = existing.isApproved();
         existing.setApproved(approved);
-        return repository.save(existing);
+        housekeeping saved = saveChecked(existing);
+        cache.saved("housekeeping", saved.getId(), saved, saved.getRequestId(), saved.getRequestId());
+        feed.saved("housekeeping", saved.getId(), saved);
+        if (approved && !wasApproved) metrics.approved("housekeeping");
+        return saved;
     }
 
+    @Transactional
     public void deleteTask(int id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Task not found.");
+        housekeeping existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found."));
+        repository.delete(existing);
+        cache.deleted("housekeeping", id, existing.getRequestId());
+        feed.deleted("housekeeping", id);
+        counters.removed(existing.getTaskStatus());
+    }
+
+    /**
+     * Saves the row, mapping a unique-index violation on the business key to the duplicate
+     * message (so creates need no existence pre-read) and a stale @Version to a conflict.
+     */
+    private housekeeping saveChecked(housekeeping row) {
+        try {
+            return repository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Request ID already exists. Please use a unique request ID.");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionCheck.conflict("Task");
+        }
+    }
+
+    /**
+     * Streams every task to the sink in id order, detaching each row once written so the
+     * persistence context stays empty however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<housekeeping> sink) {
+        try (Stream<housekeeping> rows = repository.streamAll()) {
+            rows.forEach(task -> {
+                sink.accept(task);
+                entityManager.detach(task);
+            });
         }
-        repository.deleteById(id);
     }
 }
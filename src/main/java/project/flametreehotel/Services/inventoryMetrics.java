@@ -0,0 +1,23 @@
+package project.flametreehotel.Services;
+
+import java.util.List;
+import java.util.Map;
+
+import project.flametreehotel.Repository.inventoryStatusTotals;
+
+/**
+ * Inventory dashboard tiles: item counts per status and the damaged / missing unit totals.
+ */
+public record inventoryMetrics(long total, Map<String, Long> byStatus, long damaged, long missing) {
+
+    public static inventoryMetrics of(List<inventoryStatusTotals> rows) {
+        statusMetrics counts = statusMetrics.of(rows);
+        long damaged = 0;
+        long missing = 0;
+        for (inventoryStatusTotals row : rows) {
+            damaged += row.getDamaged();
+            missing += row.getMissing();
+        }
+        return new inventoryMetrics(counts.total(), counts.byStatus(), damaged, missing);
+    }
+}
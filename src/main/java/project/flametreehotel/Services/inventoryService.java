@@ -1,49 +1,122 @@
 package project.flametreehotel.Services;
 
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import project.flametreehotel.Model.inventory;
 import project.flametreehotel.Repository.inventoryRepository;
+import project.flametreehotel.Repository.inventoryRow;
+import project.flametreehotel.Repository.inventoryStatusTotals;
+import project.flametreehotel.Repository.ordersRepository;
+import project.flametreehotel.Repository.stockAdjustment;
+import tools.jackson.databind.ObjectMapper;
 
 @Service
 @RequiredArgsConstructor
 public class inventoryService {
 
     private final inventoryRepository repository;
+    private final ordersRepository orderRepository;
+    private final entityCache cache;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final statusCounters counters = new statusCounters();
+    private final LongAdder damagedTotal = new LongAdder();
+    private final LongAdder missingTotal = new LongAdder();
 
-    public List<inventory> getAllItems() {
-        List<inventory> items = repository.findAll();
-        boolean hasStatusChanges = false;
+    /**
+     * Returns one keyset page of inventory items, sorted by id (default) or item name.
+     * Rows are returned with the stored status, which every write path keeps current, so the
+     * status filter and the status shown are always the same value and listing never writes.
+     */
+    @Transactional(readOnly = true)
+    public pageResult<inventoryRow> listItems(String after, Integer limit, String sort, String status, String category) {
+        pageCursor cursor = pageCursor.decode(after);
+        int pageSize = pageCursor.clampLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
 
-        for (inventory item : items) {
-            String recalculatedStatus = computeStatus(
-                    item.getInStock(),
-                    item.getMinLevel(),
-                    item.getDamaged(),
-                    item.getMissing());
-
-            if (!Objects.equals(item.getStatus(), recalculatedStatus)) {
-                item.setStatus(recalculatedStatus);
-                hasStatusChanges = true;
-            }
+        List<inventoryRow> rows;
+        Function<inventoryRow, pageCursor> cursorOf;
+        if ("item".equalsIgnoreCase(sort)) {
+            rows = repository.findPageByItem(cursor.afterKey(), cursor.afterId(), pageCursor.filter(status), pageCursor.filter(category), fetch);
+            cursorOf = i -> new pageCursor(i.id(), i.item());
+        } else {
+            rows = repository.findPageById(cursor.afterId(), pageCursor.filter(status), pageCursor.filter(category), fetch);
+            cursorOf = i -> new pageCursor(i.id(), null);
         }
 
-        if (hasStatusChanges) {
-            repository.saveAll(items);
-        }
+        return pageResult.of(rows, pageSize, cursorOf);
+    }
 
-        return items;
+    /**
+     * Returns item counts per status and damaged / missing totals from the in-memory counters.
+     */
+    public inventoryMetrics getMetrics() {
+        statusMetrics counts = counters.snapshot();
+        return new inventoryMetrics(counts.total(), counts.byStatus(), damagedTotal.sum(), missingTotal.sum());
     }
 
-    public inventory addItem(String item, String category, int inStock, int minLevel) {
-        if (repository.findByItem(item).isPresent()) {
-            throw new RuntimeException("Item already exists. Use Update on the item row.");
-        }
+    /**
+     * Rebuilds the counters from a GROUP BY query once the application is up and then on a fixed schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void reconcileMetrics() {
+        List<inventoryStatusTotals> rows = repository.countByStatus();
+        inventoryMetrics fresh = inventoryMetrics.of(rows);
+        counters.reset(rows);
+        damagedTotal.reset();
+        damagedTotal.add(fresh.damaged());
+        missingTotal.reset();
+        missingTotal.add(fresh.missing());
+    }
+
+    /**
+     * Items inserted, updated or deleted after change sequence since; see changeFeed.
+     */
+    public changeSet<inventory> changesSince(long since, Integer limit) {
+        return feed.changesSince("inventory", since, limit, repository::findAllById, inventory::getId);
+    }
+
+    @Cacheable(cacheNames = "inventory", key = "#id")
+    public inventory getItem(int id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Item not found."));
+    }
 
+    @Cacheable(cacheNames = "inventory.key", key = "#item")
+    public inventory findItemByName(String item) {
+        return repository.findByItem(item)
+                .orElseThrow(() -> new RuntimeException("Item not found."));
+    }
+
+    @Transactional
+    public inventory addItem(String item, String category, int inStock, int minLevel) {
         inventory newItem = new inventory();
         newItem.setItem(item);
         newItem.setCategory(category);
@@ -53,13 +126,24 @@ public class inventoryService {
         newItem.setMissing(0);
         newItem.setStatus(computeStatus(inStock, minLevel, 0, 0));
 
-        return repository.save(newItem);
+        inventory saved = saveChecked(newItem);
+        counters.added(saved.getStatus());
+        lowStockCheck(saved, null);
+        cache.saved("inventory", saved.getId(), saved, null, saved.getItem());
+        feed.saved("inventory", saved.getId(), saved);
+        return saved;
     }
 
-    public inventory updateItem(int id, String item, String category, int inStock, int minLevel, int damaged, int missing) {
+    @Transactional
+    public inventory updateItem(int id, String item, String category, int inStock, int minLevel, int damaged, int missing, Long expectedVersion) {
         inventory existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Item");
 
+        String previousKey = existing.getItem();
+        String previousStatus = existing.getStatus();
+        int previousDamaged = existing.getDamaged();
+        int previousMissing = existing.getMissing();
         existing.setItem(item);
         existing.setCategory(category);
         existing.setInStock(inStock);
@@ -68,19 +152,217 @@ public class inventoryService {
         existing.setMissing(missing);
         existing.setStatus(computeStatus(inStock, minLevel, damaged, missing));
 
-        return repository.save(existing);
+        inventory saved = saveChecked(existing);
+        counters.changed(previousStatus, saved.getStatus());
+        lowStockCheck(saved, previousStatus);
+        damagedTotal.add(saved.getDamaged() - previousDamaged);
+        missingTotal.add(saved.getMissing() - previousMissing);
+        cache.saved("inventory", saved.getId(), saved, previousKey, saved.getItem());
+        feed.saved("inventory", saved.getId(), saved);
+        return saved;
     }
 
+    /**
+     * Applies stock deltas without reading the rows first: all adjustments go to the
+     * database as one batch of conditional UPDATEs that also recompute status, then the
+     * new rows are read back with a single IN query. Repeated ids are summed. If any
+     * adjustment matches no row (unknown id, or a quantity would go negative) the whole
+     * batch is rolled back. The UPDATEs bypass the persistence context, so it is flushed
+     * before them and cleared after, and the read-back never returns a stale managed row.
+     */
+    @Transactional
+    public List<inventory> adjustStock(List<stockAdjustment> adjustments) {
+        Map<Integer, stockAdjustment> merged = new LinkedHashMap<>();
+        for (stockAdjustment adjustment : adjustments) {
+            merged.merge(adjustment.id(), adjustment, stockAdjustment::plus);
+        }
+        if (merged.isEmpty()) return List.of();
+
+        List<stockAdjustment> batch = new ArrayList<>(merged.values());
+        entityManager.flush();
+        int[] updated = repository.adjustStock(batch, LOW_STOCK_BUFFER);
+        entityManager.clear();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new RuntimeException("Item " + batch.get(i).id()
+                        + " not found, or the adjustment would make a quantity negative.");
+            }
+        }
+
+        List<inventory> rows = repository.findAllById(merged.keySet());
+        for (inventory row : rows) {
+            stockAdjustment delta = merged.get(row.getId());
+            String previousStatus = computeStatus(row.getInStock() - delta.inStock(), row.getMinLevel(),
+                    row.getDamaged() - delta.damaged(), row.getMissing() - delta.missing());
+            counters.changed(previousStatus, row.getStatus());
+            lowStockCheck(row, previousStatus);
+            damagedTotal.add(delta.damaged());
+            missingTotal.add(delta.missing());
+            cache.saved("inventory", row.getId(), row, row.getItem(), row.getItem());
+        }
+        feed.savedAll("inventory", rows, inventory::getId);
+        return rows;
+    }
+
+    /**
+     * Books a received purchase order into stock with an atomic increment. Only the id is
+     * looked up, so no row is loaded ahead of the UPDATE. Transactional itself, since the
+     * call to adjustStock does not go through the proxy.
+     */
+    @Transactional
+    public inventory receiveStock(String item, int qty) {
+        List<Integer> ids = repository.findIdsByItem(List.of(item));
+        if (ids.isEmpty()) throw new RuntimeException("Item not found: " + item);
+        return adjustStock(List.of(new stockAdjustment(ids.get(0), qty, 0, 0))).get(0);
+    }
+
+    /**
+     * Books a completed purchase order into stock once: the order is marked received and the
+     * stock incremented in one transaction, so a failure leaves it unbooked for a retry and a
+     * repeat (the order completed twice, or the retry racing the event) books nothing.
+     * Returns false when the order had already been booked.
+     */
+    @Transactional
+    public boolean receiveOrder(int orderId, String item, int qty) {
+        if (orderRepository.markStockReceived(orderId) == 0) return false;
+        receiveStock(item, qty);
+        return true;
+    }
+
+    /**
+     * Units to order to bring usable stock back up to twice the low-stock threshold.
+     */
+    public int reorderQuantity(inventory item) {
+        int usableStock = Math.max(0, item.getInStock() - Math.max(0, item.getDamaged()) - Math.max(0, item.getMissing()));
+        int target = 2 * (Math.max(0, item.getMinLevel()) + LOW_STOCK_BUFFER);
+        return Math.max(1, target - usableStock);
+    }
+
+    @Transactional
     public void deleteItem(int id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Item not found.");
+        inventory existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Item not found."));
+        repository.delete(existing);
+        cache.deleted("inventory", id, existing.getItem());
+        feed.deleted("inventory", id);
+        counters.removed(existing.getStatus());
+        damagedTotal.add(-existing.getDamaged());
+        missingTotal.add(-existing.getMissing());
+    }
+
+    /**
+     * Saves the row, mapping a unique-index violation on the business key to the duplicate
+     * message (so creates need no existence pre-read) and a stale @Version to a conflict.
+     */
+    private inventory saveChecked(inventory row) {
+        try {
+            return repository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Item already exists. Use Update on the item row.");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionCheck.conflict("Item");
+        }
+    }
+
+    /**
+     * Imports items from CSV (header row: item,category,inStock,minLevel[,damaged,missing])
+     * or JSON lines. Each chunk of rows costs one existence query and one batched INSERT;
+     * items that already exist, or appear earlier in the same upload, are skipped.
+     */
+    public bulkRows.importResult importItems(BufferedReader reader, boolean csv) {
+        List<String> errors = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int[] inserted = {0};
+        int[] skipped = {0};
+
+        bulkRows.read(reader, csv, objectMapper, chunk -> {
+            List<inventory> candidates = new ArrayList<>(chunk.size());
+            for (bulkRows.row row : chunk) {
+                String item = row.text("item");
+                String category = row.text("category");
+                if (item == null || category == null) {
+                    bulkRows.error(errors, row.line(), "item and category are required.");
+                    continue;
+                }
+                inventory candidate = new inventory();
+                try {
+                    candidate.setInStock(row.number("inStock"));
+                    candidate.setMinLevel(row.number("minLevel"));
+                    candidate.setDamaged(row.number("damaged"));
+                    candidate.setMissing(row.number("missing"));
+                } catch (NumberFormatException e) {
+                    bulkRows.error(errors, row.line(), "quantities must be whole numbers.");
+                    continue;
+                }
+                if (!seen.add(item)) {
+                    skipped[0]++;
+                    continue;
+                }
+                candidate.setItem(item);
+                candidate.setCategory(category);
+                candidate.setStatus(computeStatus(candidate.getInStock(), candidate.getMinLevel(),
+                        candidate.getDamaged(), candidate.getMissing()));
+                candidates.add(candidate);
+            }
+            if (candidates.isEmpty()) return;
+
+            Set<String> existing = new HashSet<>(repository.findExistingItems(
+                    candidates.stream().map(inventory::getItem).toList()));
+            List<inventory> fresh = candidates.stream().filter(i -> !existing.contains(i.getItem())).toList();
+            skipped[0] += candidates.size() - fresh.size();
+            if (fresh.isEmpty()) return;
+
+            try {
+                feed.atomically(() -> {
+                    repository.insertBatch(fresh);
+                    feed.bulkSaved("inventory", repository.findIdsByItem(fresh.stream().map(inventory::getItem).toList()));
+                });
+            } catch (DataIntegrityViolationException e) {
+                bulkRows.error(errors, chunk.get(0).line(), "chunk of " + fresh.size()
+                        + " rows rejected; an item in it was inserted concurrently.");
+                return;
+            }
+            inserted[0] += fresh.size();
+            for (inventory item : fresh) {
+                counters.added(item.getStatus());
+                lowStockCheck(item, null);
+                damagedTotal.add(item.getDamaged());
+                missingTotal.add(item.getMissing());
+            }
+        }, errors);
+
+        if (inserted[0] > 0) feed.reload("inventory");
+        return new bulkRows.importResult(inserted[0], skipped[0], errors);
+    }
+
+    /**
+     * Streams every item to the sink in id order, detaching each row once written so the
+     * persistence context stays empty however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportItems(Consumer<inventory> sink) {
+        try (Stream<inventory> rows = repository.streamAll()) {
+            rows.forEach(item -> {
+                sink.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    /**
+     * Publishes a lowStockEvent when a write moves an item into "Low Stock"; the reorder
+     * engine coalesces these per supplier.
+     */
+    private void lowStockCheck(inventory item, String previousStatus) {
+        if (LOW_STOCK.equals(item.getStatus()) && !LOW_STOCK.equals(previousStatus)) {
+            events.publishEvent(new lowStockEvent(item.getItem()));
         }
-        repository.deleteById(id);
     }
 
+    public static final String LOW_STOCK = "Low Stock";
     private static final int LOW_STOCK_BUFFER = 10;
 
-    private String computeStatus(int inStock, int minLevel, int damaged, int missing) {
+    static String computeStatus(int inStock, int minLevel, int damaged, int missing) {
     int usableStock = Math.max(0, inStock - Math.max(0, damaged) - Math.max(0, missing));
     int lowStockThreshold = Math.max(0, minLevel) + LOW_STOCK_BUFFER;
 
@@ -0,0 +1,7 @@
+package project.flametreehotel.Services;
+
+/**
+ * Published by inventoryService when a write moves an item into "Low Stock".
+ */
+public record lowStockEvent(String item) {
+}
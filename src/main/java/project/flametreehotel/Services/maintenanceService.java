@@ -1,28 +1,86 @@
 package project.flametreehotel.Services;
 
 import java.util.List;
-
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import project.flametreehotel.Model.maintenance;
 import project.flametreehotel.Repository.maintenanceRepository;
+import project.flametreehotel.Repository.maintenanceRow;
 
 @Service
 @RequiredArgsConstructor
 public class maintenanceService {
 
     private final maintenanceRepository repository;
+    private final entityCache cache;
+    private final changeFeed feed;
+    private final hotelMetrics metrics;
+    private final EntityManager entityManager;
+    private final statusCounters counters = new statusCounters();
+
+    /**
+     * Returns one keyset page of tickets ordered by id, optionally filtered by status and assignee.
+     */
+    @Transactional(readOnly = true)
+    public pageResult<maintenanceRow> listTickets(String after, Integer limit, String status, String assignedTo) {
+        pageCursor cursor = pageCursor.decode(after);
+        int pageSize = pageCursor.clampLimit(limit);
+        List<maintenanceRow> rows = repository.findPage(cursor.afterId(), pageCursor.filter(status),
+                pageCursor.filter(assignedTo), Limit.of(pageSize + 1));
+        return pageResult.of(rows, pageSize, m -> new pageCursor(m.id(), null));
+    }
 
-    public List<maintenance> getAllTickets() {
-        return repository.findAll();
+    /**
+     * Returns the per-status counts from the in-memory counters; no database round trip.
+     */
+    public statusMetrics getMetrics() {
+        return counters.snapshot();
     }
 
-    public maintenance addTicket(String ticket, String location, String issue, String assignedTo, String status) {
-        if (repository.findByTicket(ticket).isPresent()) {
-            throw new RuntimeException("Ticket ID already exists. Please use a unique ticket ID.");
-        }
+    /**
+     * Rebuilds the counters from a GROUP BY query once the application is up and then on a fixed schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void reconcileMetrics() {
+        counters.reset(repository.countByStatus());
+    }
 
+    /**
+     * Tickets inserted, updated or deleted after change sequence since; see changeFeed.
+     */
+    public changeSet<maintenance> changesSince(long since, Integer limit) {
+        return feed.changesSince("maintenance", since, limit, repository::findAllById, maintenance::getId);
+    }
+
+    @Cacheable(cacheNames = "maintenance", key = "#id")
+    public maintenance getTicket(int id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Ticket not found."));
+    }
+
+    @Cacheable(cacheNames = "maintenance.key", key = "#ticket")
+    public maintenance findTicketByTicket(String ticket) {
+        return repository.findByTicket(ticket)
+                .orElseThrow(() -> new RuntimeException("Ticket not found."));
+    }
+
+    @Transactional
+    public maintenance addTicket(String ticket, String location, String issue, String assignedTo, String status) {
         maintenance newTicket = new maintenance();
         newTicket.setTicket(ticket);
         newTicket.setLocation(location);
@@ -31,13 +89,22 @@ public class maintenanceService {
         newTicket.setStatus(status);
         newTicket.setApproved(false);
 
-        return repository.save(newTicket);
+        maintenance saved = saveChecked(newTicket);
+        counters.added(saved.getStatus());
+        cache.saved("maintenance", saved.getId(), saved, null, saved.getTicket());
+        feed.saved("maintenance", saved.getId(), saved);
+        metrics.ticketOpened();
+        return saved;
     }
 
-    public maintenance updateTicket(int id, String ticket, String location, String issue, String assignedTo, String status) {
+    @Transactional
+    public maintenance updateTicket(int id, String ticket, String location, String issue, String assignedTo, String status, Long expectedVersion) {
         maintenance existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Ticket");
 
+        String previousKey = existing.getTicket();
+        String previousStatus = existing.getStatus();
         existing.setTicket(ticket);
         existing.setLocation(location);
         existing.setIssue(issue);
@@ -45,25 +112,67 @@ public class maintenanceService {
         existing.setStatus(status);
         existing.setApproved(false);
 
-        return repository.save(existing);
+        maintenance saved = saveChecked(existing);
+        counters.changed(previousStatus, saved.getStatus());
+        cache.saved("maintenance", saved.getId(), saved, previousKey, saved.getTicket());
+        feed.saved("maintenance", saved.getId(), saved);
+        return saved;
     }
 
-    public maintenance setApproval(int id, boolean approved) {
+    @Transactional
+    public maintenance setApproval(int id, boolean approved, Long expectedVersion) {
         maintenance existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Ticket");
 
         if (!"Repaired".equalsIgnoreCase(existing.getStatus())) {
             throw new RuntimeException("Only repaired tickets can be approved.");
         }
 
+        boolean wasApproved = existing.isApproved();
         existing.setApproved(approved);
-        return repository.save(existing);
+        maintenance saved = saveChecked(existing);
+        cache.saved("maintenance", saved.getId(), saved, saved.getTicket(), saved.getTicket());
+        feed.saved("maintenance", saved.getId(), saved);
+        if (approved && !wasApproved) metrics.approved("maintenance");
+        return saved;
     }
 
+    @Transactional
     public void deleteTicket(int id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Ticket not found.");
+        maintenance existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Ticket not found."));
+        repository.delete(existing);
+        cache.deleted("maintenance", id, existing.getTicket());
+        feed.deleted("maintenance", id);
+        counters.removed(existing.getStatus());
+    }
+
+    /**
+     * Saves the row, mapping a unique-index violation on the business key to the duplicate
+     * message (so creates need no existence pre-read) and a stale @Version to a conflict.
+     */
+    private maintenance saveChecked(maintenance row) {
+        try {
+            return repository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Ticket ID already exists. Please use a unique ticket ID.");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionCheck.conflict("Ticket");
+        }
+    }
+
+    /**
+     * Streams every ticket to the sink in id order, detaching each row once written so the
+     * persistence context stays empty however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportTickets(Consumer<maintenance> sink) {
+        try (Stream<maintenance> rows = repository.streamAll()) {
+            rows.forEach(ticket -> {
+                sink.accept(ticket);
+                entityManager.detach(ticket);
+            });
         }
-        repository.deleteById(id);
     }
 }
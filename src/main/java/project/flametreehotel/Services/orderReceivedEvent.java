@@ -0,0 +1,7 @@
+package project.flametreehotel.Services;
+
+/**
+ * Published by ordersService when a purchase order moves to "Complete", i.e. the goods arrived.
+ */
+public record orderReceivedEvent(int orderId, String item, int qty) {
+}
@@ -1,55 +1,255 @@
 package project.flametreehotel.Services;
 
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import project.flametreehotel.Model.orders;
 import project.flametreehotel.Repository.ordersRepository;
+import project.flametreehotel.Repository.ordersRow;
+import tools.jackson.databind.ObjectMapper;
 
 @Service
 @RequiredArgsConstructor
 public class ordersService {
 
+    public static final String RECEIVED = "Complete";
+
     private final ordersRepository repository;
+    private final entityCache cache;
+    private final changeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final statusCounters counters = new statusCounters();
 
-    public List<orders> getAllOrders() {
-        return repository.findAll();
+    /**
+     * Returns one keyset page of purchase orders ordered by id, optionally filtered by status and supplier.
+     */
+    @Transactional(readOnly = true)
+    public pageResult<ordersRow> listOrders(String after, Integer limit, String status, String supplier) {
+        pageCursor cursor = pageCursor.decode(after);
+        int pageSize = pageCursor.clampLimit(limit);
+        List<ordersRow> rows = repository.findPage(cursor.afterId(), pageCursor.filter(status),
+                pageCursor.filter(supplier), Limit.of(pageSize + 1));
+        return pageResult.of(rows, pageSize, o -> new pageCursor(o.id(), null));
     }
 
-    public orders addOrder(String poid, String supplier, String item, int qty, String status) {
-        if (repository.findByPoid(poid).isPresent()) {
-            throw new RuntimeException("PO ID already exists. Please use a unique PO ID.");
-        }
+    /**
+     * Returns the per-status counts from the in-memory counters; no database round trip.
+     */
+    public statusMetrics getMetrics() {
+        return counters.snapshot();
+    }
+
+    /**
+     * Rebuilds the counters from a GROUP BY query once the application is up and then on a fixed schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotel.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${hotel.metrics.reconcile-interval-ms:300000}")
+    public void reconcileMetrics() {
+        counters.reset(repository.countByStatus());
+    }
+
+    /**
+     * Purchase orders inserted, updated or deleted after change sequence since; see changeFeed.
+     */
+    public changeSet<orders> changesSince(long since, Integer limit) {
+        return feed.changesSince("orders", since, limit, repository::findAllById, orders::getId);
+    }
 
+    @Cacheable(cacheNames = "orders", key = "#id")
+    public orders getOrder(int id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found."));
+    }
+
+    @Cacheable(cacheNames = "orders.key", key = "#poid")
+    public orders findOrderByPoid(String poid) {
+        return repository.findByPoid(poid)
+                .orElseThrow(() -> new RuntimeException("Order not found."));
+    }
+
+    @Transactional
+    public orders addOrder(String poid, String supplier, String item, int qty, String status) {
         orders newOrder = new orders();
         newOrder.setPoid(poid);
         newOrder.setSupplier(supplier);
         newOrder.setItem(item);
         newOrder.setQty(qty);
         newOrder.setStatus(status);
+        newOrder.setStockReceived(RECEIVED.equalsIgnoreCase(status));
 
-        return repository.save(newOrder);
+        orders saved = saveChecked(newOrder);
+        counters.added(saved.getStatus());
+        cache.saved("orders", saved.getId(), saved, null, saved.getPoid());
+        feed.saved("orders", saved.getId(), saved);
+        return saved;
     }
 
-    public orders updateOrder(int id, String poid, String supplier, String item, int qty, String status) {
+    /**
+     * Inserts the purchase orders raised by the reorder engine as one JDBC batch.
+     */
+    @Transactional
+    public void addReorders(List<orders> reorders) {
+        if (reorders.isEmpty()) return;
+        try {
+            repository.insertBatch(reorders);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("PO ID already exists. Please use a unique PO ID.");
+        }
+        reorders.forEach(o -> counters.added(o.getStatus()));
+        feed.bulkSaved("orders", repository.findIdsByPoid(reorders.stream().map(orders::getPoid).toList()));
+        feed.reload("orders");
+    }
+
+    @Transactional
+    public orders updateOrder(int id, String poid, String supplier, String item, int qty, String status, Long expectedVersion) {
         orders existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found."));
+        versionCheck.check(existing.getVersion(), expectedVersion, "Order");
 
+        String previousKey = existing.getPoid();
+        String previousStatus = existing.getStatus();
         existing.setPoid(poid);
         existing.setSupplier(supplier);
         existing.setItem(item);
         existing.setQty(qty);
         existing.setStatus(status);
 
-        return repository.save(existing);
+        orders saved = saveChecked(existing);
+        counters.changed(previousStatus, saved.getStatus());
+        cache.saved("orders", saved.getId(), saved, previousKey, saved.getPoid());
+        feed.saved("orders", saved.getId(), saved);
+        if (RECEIVED.equalsIgnoreCase(saved.getStatus()) && !RECEIVED.equalsIgnoreCase(previousStatus)) {
+            events.publishEvent(new orderReceivedEvent(saved.getId(), saved.getItem(), saved.getQty()));
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteOrder(int id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Order not found.");
+        orders existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found."));
+        repository.delete(existing);
+        cache.deleted("orders", id, existing.getPoid());
+        feed.deleted("orders", id);
+        counters.removed(existing.getStatus());
+    }
+
+    /**
+     * Saves the row, mapping a unique-index violation on the business key to the duplicate
+     * message (so creates need no existence pre-read) and a stale @Version to a conflict.
+     */
+    private orders saveChecked(orders row) {
+        try {
+            return repository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("PO ID already exists. Please use a unique PO ID.");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionCheck.conflict("Order");
+        }
+    }
+
+    /**
+     * Imports purchase orders from CSV (header row: poid,supplier,item,qty,status) or JSON
+     * lines, applying the same rules as /orders/add. Each chunk of rows costs one existence
+     * query and one batched INSERT; duplicate PO IDs are skipped.
+     */
+    public bulkRows.importResult importOrders(BufferedReader reader, boolean csv) {
+        List<String> errors = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int[] inserted = {0};
+        int[] skipped = {0};
+
+        bulkRows.read(reader, csv, objectMapper, chunk -> {
+            List<orders> candidates = new ArrayList<>(chunk.size());
+            for (bulkRows.row row : chunk) {
+                String poid = row.text("poid");
+                String supplier = row.text("supplier");
+                String item = row.text("item");
+                String status = row.text("status");
+                if (poid == null || supplier == null || item == null || status == null) {
+                    bulkRows.error(errors, row.line(), "All fields are required.");
+                    continue;
+                }
+                int qty;
+                try {
+                    qty = row.number("qty");
+                } catch (NumberFormatException e) {
+                    qty = 0;
+                }
+                if (qty < 1) {
+                    bulkRows.error(errors, row.line(), "Quantity must be at least 1.");
+                    continue;
+                }
+                if (!seen.add(poid)) {
+                    skipped[0]++;
+                    continue;
+                }
+                orders candidate = new orders();
+                candidate.setPoid(poid);
+                candidate.setSupplier(supplier);
+                candidate.setItem(item);
+                candidate.setQty(qty);
+                candidate.setStatus(status);
+                candidate.setStockReceived(RECEIVED.equalsIgnoreCase(status));
+                candidates.add(candidate);
+            }
+            if (candidates.isEmpty()) return;
+
+            Set<String> existing = new HashSet<>(repository.findExistingPoids(
+                    candidates.stream().map(orders::getPoid).toList()));
+            List<orders> fresh = candidates.stream().filter(o -> !existing.contains(o.getPoid())).toList();
+            skipped[0] += candidates.size() - fresh.size();
+            if (fresh.isEmpty()) return;
+
+            try {
+                feed.atomically(() -> {
+                    repository.insertBatch(fresh);
+                    feed.bulkSaved("orders", repository.findIdsByPoid(fresh.stream().map(orders::getPoid).toList()));
+                });
+            } catch (DataIntegrityViolationException e) {
+                bulkRows.error(errors, chunk.get(0).line(), "chunk of " + fresh.size()
+                        + " rows rejected; a PO ID in it was inserted concurrently.");
+                return;
+            }
+            inserted[0] += fresh.size();
+            fresh.forEach(o -> counters.added(o.getStatus()));
+        }, errors);
+
+        if (inserted[0] > 0) feed.reload("orders");
+        return new bulkRows.importResult(inserted[0], skipped[0], errors);
+    }
+
+    /**
+     * Streams every purchase order to the sink in id order, detaching each row once written.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(Consumer<orders> sink) {
+        try (Stream<orders> rows = repository.streamAll()) {
+            rows.forEach(order -> {
+                sink.accept(order);
+                entityManager.detach(order);
+            });
         }
-        repository.deleteById(id);
     }
 }
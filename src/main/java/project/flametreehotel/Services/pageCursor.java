@@ -0,0 +1,52 @@
+package project.flametreehotel.Services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor used by the paged /list endpoints.
+ * Holds the id (and optional sort key) of the last row of a page, so the next page
+ * continues with "WHERE key > ?" on an index instead of an OFFSET scan.
+ */
+public record pageCursor(int afterId, String afterKey) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final pageCursor START = new pageCursor(0, "");
+
+    /**
+     * Decodes a token produced by {@link #encode()}. A null or blank token means "first page".
+     */
+    public static pageCursor decode(String token) {
+        if (token == null || token.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) throw new IllegalArgumentException(raw);
+            return new pageCursor(Integer.parseInt(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page cursor.");
+        }
+    }
+
+    public String encode() {
+        String raw = afterId + ":" + (afterKey != null ? afterKey : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Normalises an optional filter parameter: blank means "no filter".
+     */
+    public static String filter(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Clamps a requested page size into [1, MAX_LIMIT], defaulting when absent.
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
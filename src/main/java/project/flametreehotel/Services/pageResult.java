@@ -0,0 +1,22 @@
+package project.flametreehotel.Services;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page.
+ */
+public record pageResult<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with limit + 1: the extra row only signals that
+     * another page exists and is dropped before returning.
+     */
+    public static <T> pageResult<T> of(List<T> rows, int limit, Function<T, pageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new pageResult<>(rows, null);
+        }
+        List<T> page = rows.subList(0, limit);
+        return new pageResult<>(page, cursorOf.apply(page.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,186 @@
+package project.flametreehotel.Services;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Model.orders;
+import project.flametreehotel.Repository.inventoryRepository;
+import project.flametreehotel.Repository.itemSupplier;
+import project.flametreehotel.Repository.ordersRepository;
+
+/**
+ * Turns low-stock transitions into purchase orders. Events only record the item name in a
+ * set, so a burst of writes for the same item collapses to one entry; every window the
+ * worker re-reads the items that are still low, skips those with an order already in
+ * flight, and raises one PO per supplier with one line per item, inserted as one batch.
+ * Receiving an order books its quantity into stock with an atomic increment, after the
+ * order update commits and off the request thread. The order is flagged as booked in the
+ * same transaction, so it is booked once; one that failed is retried every window, up to
+ * hotel.reorder.receipt-max-attempts failures, after which it is logged once and left alone.
+ */
+@Service
+@Slf4j
+public class reorderService {
+
+    private static final String REORDER_STATUS = "Pending";
+    private static final int RECEIPT_RETRY_BATCH = 100;
+    private static final DateTimeFormatter PO_STAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final inventoryRepository itemRepository;
+    private final ordersRepository orderRepository;
+    private final inventoryService stock;
+    private final ordersService purchasing;
+    private final String defaultSupplier;
+    private final int maxReceiptAttempts;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public reorderService(inventoryRepository itemRepository, ordersRepository orderRepository,
+                          inventoryService stock, ordersService purchasing,
+                          @Value("${hotel.reorder.default-supplier:Unassigned}") String defaultSupplier,
+                          @Value("${hotel.reorder.receipt-max-attempts:30}") int maxReceiptAttempts) {
+        this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+        this.stock = stock;
+        this.purchasing = purchasing;
+        this.defaultSupplier = defaultSupplier;
+        this.maxReceiptAttempts = maxReceiptAttempts;
+    }
+
+    @EventListener
+    public void onLowStock(lowStockEvent event) {
+        pending.add(event.item());
+    }
+
+    /**
+     * Books received stock once the order update has committed, on the task executor so the
+     * request that completed the order does not wait for the extra database round trip.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderReceived(orderReceivedEvent event) {
+        receive(event.orderId(), event.item(), event.qty(), 0);
+    }
+
+    /**
+     * Retries receipts that were never booked: the event failed, or the process stopped
+     * before it ran. Orders that keep failing (the item was deleted or renamed) drop out
+     * once they reach the attempt cap.
+     */
+    @Scheduled(fixedDelayString = "${hotel.reorder.window-ms:60000}",
+            initialDelayString = "${hotel.reorder.window-ms:60000}")
+    public void retryReceipts() {
+        List<Integer> ids = orderRepository.findUnreceivedIds(maxReceiptAttempts, RECEIPT_RETRY_BATCH);
+        if (ids.isEmpty()) return;
+        for (orders order : orderRepository.findAllById(ids)) {
+            if (receive(order.getId(), order.getItem(), order.getQty(), order.getReceiptAttempts())) {
+                log.info("Purchase order {} stock booked on retry", order.getPoid());
+            }
+        }
+    }
+
+    private boolean receive(int orderId, String item, int qty, int attempts) {
+        try {
+            return stock.receiveOrder(orderId, item, qty);
+        } catch (RuntimeException e) {
+            failed(orderId, attempts + 1, e);
+            return false;
+        }
+    }
+
+    private void failed(int orderId, int attempts, RuntimeException cause) {
+        try {
+            orderRepository.countReceiptFailure(orderId);
+        } catch (RuntimeException e) {
+            // Not counted; the order stays in the retry set.
+            log.warn("Purchase order {} received but stock not updated, will retry: {}", orderId, cause.getMessage());
+            return;
+        }
+        if (attempts >= maxReceiptAttempts) {
+            log.error("Purchase order {} received but stock not updated after {} attempts, no longer retried: {}",
+                    orderId, attempts, cause.getMessage());
+        } else {
+            log.warn("Purchase order {} received but stock not updated, will retry: {}", orderId, cause.getMessage());
+        }
+    }
+
+    /**
+     * Drains the items collected during the last window and raises the purchase orders.
+     */
+    @Scheduled(fixedDelayString = "${hotel.reorder.window-ms:60000}",
+            initialDelayString = "${hotel.reorder.window-ms:60000}")
+    public void flush() {
+        List<String> items = drain();
+        if (items.isEmpty()) return;
+
+        List<inventory> low = itemRepository.findByItemIn(items).stream()
+                .filter(i -> inventoryService.LOW_STOCK.equals(i.getStatus()))
+                .toList();
+        if (low.isEmpty()) return;
+
+        List<String> names = low.stream().map(inventory::getItem).toList();
+        Set<String> open = new HashSet<>(orderRepository.findOpenItems(names));
+        Map<String, String> supplierOf = new LinkedHashMap<>();
+        for (itemSupplier row : orderRepository.findLatestSuppliers(names)) {
+            supplierOf.put(row.getItem(), row.getSupplier());
+        }
+
+        Map<String, List<inventory>> bySupplier = new LinkedHashMap<>();
+        for (inventory item : low) {
+            if (open.contains(item.getItem())) continue;
+            bySupplier.computeIfAbsent(supplierOf.getOrDefault(item.getItem(), defaultSupplier), s -> new ArrayList<>())
+                    .add(item);
+        }
+        if (bySupplier.isEmpty()) return;
+
+        String stamp = LocalDateTime.now().format(PO_STAMP);
+        List<orders> reorders = new ArrayList<>();
+        int po = 0;
+        for (Map.Entry<String, List<inventory>> group : bySupplier.entrySet()) {
+            po++;
+            int line = 0;
+            for (inventory item : group.getValue()) {
+                orders order = new orders();
+                order.setPoid(String.format("RO-%s-%02d-%03d", stamp, po, ++line));
+                order.setSupplier(group.getKey());
+                order.setItem(item.getItem());
+                order.setQty(stock.reorderQuantity(item));
+                order.setStatus(REORDER_STATUS);
+                reorders.add(order);
+            }
+        }
+
+        try {
+            purchasing.addReorders(reorders);
+            log.info("Reorder: {} low-stock items -> {} purchase orders", reorders.size(), bySupplier.size());
+        } catch (RuntimeException e) {
+            pending.addAll(names);
+            log.warn("Reorder batch failed, retrying next window: {}", e.getMessage());
+        }
+    }
+
+    private List<String> drain() {
+        List<String> items = new ArrayList<>();
+        for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+            items.add(it.next());
+            it.remove();
+        }
+        return items;
+    }
+}
@@ -0,0 +1,88 @@
+package project.flametreehotel.Services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import project.flametreehotel.Model.users;
+
+/**
+ * Stateless HMAC-SHA256 signed session tokens, so a signed-in user can be identified
+ * without reading the users table again.
+ * Format: base64url(username \n role \n expiresAt) "." base64url(signature).
+ */
+@Slf4j
+@Component
+public class sessionTokens {
+
+    public record session(String username, String role, long expiresAt) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public sessionTokens(@Value("${hotel.auth.token-secret:}") String secret,
+                         @Value("${hotel.auth.token-ttl-minutes:720}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("hotel.auth.token-secret is not set; session tokens will not survive a restart.");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = ttlMinutes * 60;
+    }
+
+    public String issue(users user) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        String payload = user.getUsername() + "\n" + user.getRole() + "\n" + expiresAt;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the session carried by the token, or null if it is malformed, tampered with or expired.
+     */
+    public session verify(String token) {
+        if (token == null) return null;
+        int dot = token.indexOf('.');
+        if (dot < 0) return null;
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) return null;
+
+            String[] parts = payload.split("\n", -1);
+            if (parts.length != 3) return null;
+            long expiresAt = Long.parseLong(parts[2]);
+            if (expiresAt < Instant.now().getEpochSecond()) return null;
+            return new session(parts[0], parts[1], expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign session token.", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package project.flametreehotel.Services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import project.flametreehotel.Repository.guestQueueRow;
+
+/**
+ * Service-level targets for guest requests. A request's deadline is its creation time plus
+ * the target of its priority. Once overdue, the sweeper raises it one priority level, and
+ * again every re-escalate interval after that, until it is Urgent. The department comes
+ * from the request type unless the front desk names one.
+ */
+@Component
+public class slaPolicy {
+
+    public static final String DEFAULT_PRIORITY = "Normal";
+    public static final String DEFAULT_DEPARTMENT = "Front Desk";
+
+    /**
+     * Lowest first; the index is the priority's rank.
+     */
+    public static final List<String> PRIORITIES = List.of("Low", "Normal", "High", "Urgent");
+
+    private static final Map<String, String> DEPARTMENT_OF = Map.of(
+            "Extra Towels", "Housekeeping",
+            "Toiletries Refill", "Housekeeping",
+            "Cleaning Follow-up", "Housekeeping");
+
+    private final Duration[] targets;
+    private final Duration reEscalate;
+    private final int batchSize;
+
+    public slaPolicy(@Value("${hotel.sla.low-minutes:240}") long lowMinutes,
+                     @Value("${hotel.sla.normal-minutes:60}") long normalMinutes,
+                     @Value("${hotel.sla.high-minutes:30}") long highMinutes,
+                     @Value("${hotel.sla.urgent-minutes:15}") long urgentMinutes,
+                     @Value("${hotel.sla.re-escalate-minutes:15}") long reEscalateMinutes,
+                     @Value("${hotel.sla.batch-size:200}") int batchSize) {
+        this.targets = new Duration[]{Duration.ofMinutes(lowMinutes), Duration.ofMinutes(normalMinutes),
+                Duration.ofMinutes(highMinutes), Duration.ofMinutes(urgentMinutes)};
+        this.reEscalate = Duration.ofMinutes(reEscalateMinutes);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Most requests the sweeper escalates per run.
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Canonical spelling of a priority; blank means Normal.
+     */
+    public String priority(String value) {
+        if (value == null || value.isBlank()) return DEFAULT_PRIORITY;
+        for (String priority : PRIORITIES) {
+            if (priority.equalsIgnoreCase(value.trim())) return priority;
+        }
+        throw new RuntimeException("Priority must be one of " + String.join(", ", PRIORITIES) + ".");
+    }
+
+    public String department(String department, String requestType) {
+        if (department != null && !department.isBlank()) return department.trim();
+        return DEPARTMENT_OF.getOrDefault(requestType, DEFAULT_DEPARTMENT);
+    }
+
+    public Instant dueAt(Instant createdAt, String priority) {
+        return createdAt.plus(targets[rank(priority)]);
+    }
+
+    public String escalated(String priority) {
+        return PRIORITIES.get(Math.min(rank(priority) + 1, PRIORITIES.size() - 1));
+    }
+
+    /**
+     * Queue entry for a request, or null once it is completed and leaves the queue.
+     */
+    public slaQueue.entry entry(guestQueueRow row) {
+        if (!isOpen(row.status())) return null;
+        int rank = rank(row.priority());
+        boolean canEscalate = rank < PRIORITIES.size() - 1;
+        Instant escalateAt = canEscalate ? row.dueAt().plus(reEscalate.multipliedBy(row.escalations())) : null;
+        return new slaQueue.entry(row, rank, !"In Progress".equalsIgnoreCase(row.status()), escalateAt);
+    }
+
+    static boolean isOpen(String status) {
+        return !"Completed".equalsIgnoreCase(status);
+    }
+
+    private static int rank(String priority) {
+        int rank = PRIORITIES.indexOf(priority);
+        return rank < 0 ? PRIORITIES.indexOf(DEFAULT_PRIORITY) : rank;
+    }
+}
@@ -0,0 +1,192 @@
+package project.flametreehotel.Services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import project.flametreehotel.Repository.guestQueueRow;
+
+/**
+ * Open guest requests in memory, kept in sorted sets so the front-desk questions are
+ * answered without touching the table:
+ * - a waiting set per department, highest priority, then earliest deadline, first;
+ * - all open requests by deadline, for what is breaching or about to;
+ * - requests that can still escalate, by the time they next escalate, for the sweeper.
+ * Updates are O(log n) per set; "next" is the head of a set and a scan stops at the first
+ * entry past its bound. The service writes every saved row through put, and the queue is
+ * rebuilt from the table on startup and periodically, like the status counters.
+ */
+public final class slaQueue {
+
+    /**
+     * One open request. waiting is false once someone is working on it; escalateAt is null
+     * when it can rise no further.
+     */
+    public record entry(guestQueueRow row, int rank, boolean waiting, Instant escalateAt) {
+    }
+
+    private static final Comparator<entry> BY_PRIORITY = Comparator
+            .comparingInt((entry e) -> -e.rank())
+            .thenComparing(e -> e.row().dueAt())
+            .thenComparingInt(e -> e.row().id());
+    private static final Comparator<entry> BY_DEADLINE = Comparator
+            .comparing((entry e) -> e.row().dueAt())
+            .thenComparingInt(e -> e.row().id());
+    private static final Comparator<entry> BY_ESCALATION = Comparator
+            .comparing(entry::escalateAt)
+            .thenComparingInt(e -> e.row().id());
+
+    private final Map<Integer, entry> byId = new HashMap<>();
+    private final Map<String, NavigableSet<entry>> waiting = new TreeMap<>();
+    private final NavigableSet<entry> deadlines = new TreeSet<>(BY_DEADLINE);
+    private final NavigableSet<entry> escalations = new TreeSet<>(BY_ESCALATION);
+    // Writes that land while a rebuild is reading the table, replayed over its snapshot.
+    private Map<Integer, entry> pendingDuringRebuild;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Adds or replaces the request's entry; null (a completed request) removes it.
+     */
+    public void put(int id, entry next) {
+        lock.lock();
+        try {
+            if (pendingDuringRebuild != null) pendingDuringRebuild.put(id, next);
+            apply(id, next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(int id) {
+        put(id, null);
+    }
+
+    /**
+     * Marks the start of a rebuild; writes from now on are replayed over the snapshot passed
+     * to finishRebuild, so a request saved while the table was being read is not lost.
+     */
+    public void beginRebuild() {
+        lock.lock();
+        try {
+            pendingDuringRebuild = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void finishRebuild(Collection<entry> snapshot) {
+        lock.lock();
+        try {
+            byId.clear();
+            waiting.clear();
+            deadlines.clear();
+            escalations.clear();
+            for (entry e : snapshot) apply(e.row().id(), e);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.forEach(this::apply);
+            pendingDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The department's next requests to serve, at most limit.
+     */
+    public List<guestQueueRow> next(String department, int limit) {
+        lock.lock();
+        try {
+            NavigableSet<entry> queue = waiting.get(department);
+            List<guestQueueRow> rows = new ArrayList<>(Math.min(limit, queue == null ? 0 : queue.size()));
+            if (queue == null) return rows;
+            Iterator<entry> it = queue.iterator();
+            while (it.hasNext() && rows.size() < limit) rows.add(it.next().row());
+            return rows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The head of every department's waiting set, keyed by department.
+     */
+    public Map<String, guestQueueRow> heads() {
+        lock.lock();
+        try {
+            Map<String, guestQueueRow> heads = new TreeMap<>();
+            waiting.forEach((department, queue) -> heads.put(department, queue.first().row()));
+            return heads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Open requests due before the given instant, earliest deadline first, at most limit.
+     */
+    public List<guestQueueRow> dueBefore(Instant before, int limit) {
+        lock.lock();
+        try {
+            List<guestQueueRow> rows = new ArrayList<>();
+            for (entry e : deadlines) {
+                if (rows.size() >= limit || !e.row().dueAt().isBefore(before)) break;
+                rows.add(e.row());
+            }
+            return rows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Requests whose next escalation time has passed, at most limit.
+     */
+    public List<entry> dueForEscalation(Instant now, int limit) {
+        lock.lock();
+        try {
+            List<entry> due = new ArrayList<>();
+            for (entry e : escalations) {
+                if (due.size() >= limit || e.escalateAt().isAfter(now)) break;
+                due.add(e);
+            }
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(int id, entry next) {
+        entry previous = next == null ? byId.remove(id) : byId.put(id, next);
+        if (previous != null) {
+            NavigableSet<entry> queue = waiting.get(previous.row().department());
+            if (queue != null && queue.remove(previous) && queue.isEmpty()) {
+                waiting.remove(previous.row().department());
+            }
+            deadlines.remove(previous);
+            if (previous.escalateAt() != null) escalations.remove(previous);
+        }
+        if (next == null) return;
+        if (next.waiting()) {
+            waiting.computeIfAbsent(next.row().department(), d -> new TreeSet<>(BY_PRIORITY)).add(next);
+        }
+        deadlines.add(next);
+        if (next.escalateAt() != null) escalations.add(next);
+    }
+}
@@ -0,0 +1,220 @@
+package project.flametreehotel.Services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SQL statistics per HTTP request. The request filter opens a scope on the handling
+ * thread; Hibernate's statement inspector, session listener and post-load listener report
+ * into it (statements, JDBC time, entities loaded). When the request ends the totals are
+ * folded into per-endpoint aggregates, and a request that crosses a threshold (too many
+ * statements, too much database time, the same statement repeated N+1 style, or writes
+ * issued by a GET) is logged and kept in a short list of recent offenders.
+ */
+@Component
+@Slf4j
+public class sqlStats {
+
+    private static final ThreadLocal<requestSql> CURRENT = new ThreadLocal<>();
+    private static final Pattern LITERALS = Pattern.compile("'[^']*'|\\b\\d+\\b");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final int MAX_OFFENDERS = 50;
+
+    private final int maxStatements;
+    private final long slowNanos;
+    private final int repeatThreshold;
+    private final Map<String, endpointSql> endpoints = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> offenders = new ArrayDeque<>();
+
+    public sqlStats(@Value("${hotel.sql.max-statements:20}") int maxStatements,
+                    @Value("${hotel.sql.slow-ms:500}") long slowMs,
+                    @Value("${hotel.sql.repeat-threshold:10}") int repeatThreshold) {
+        this.maxStatements = maxStatements;
+        this.slowNanos = slowMs * 1_000_000;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public void begin(String method) {
+        CURRENT.set(new requestSql(method));
+    }
+
+    /**
+     * Closes the scope opened by begin and records it under "METHOD /pattern".
+     */
+    public void finish(String endpoint, int status, long elapsedNanos) {
+        requestSql sql = CURRENT.get();
+        CURRENT.remove();
+        if (sql == null) return;
+
+        endpointSql totals = endpoints.computeIfAbsent(endpoint, key -> new endpointSql());
+        totals.add(sql);
+        List<String> reasons = reasons(sql);
+        if (reasons.isEmpty()) return;
+
+        totals.flagged.increment();
+        Map<String, Object> offender = new LinkedHashMap<>();
+        offender.put("endpoint", endpoint);
+        offender.put("status", status);
+        offender.put("elapsedMs", elapsedNanos / 1_000_000);
+        offender.put("statements", sql.statements);
+        offender.put("dbMs", sql.dbNanos / 1_000_000);
+        offender.put("rows", sql.rows);
+        offender.put("reasons", reasons);
+        synchronized (offenders) {
+            offenders.addFirst(offender);
+            if (offenders.size() > MAX_OFFENDERS) offenders.removeLast();
+        }
+        log.warn("SQL {}: {} statements, {} ms in database, {} rows - {}",
+                endpoint, sql.statements, sql.dbNanos / 1_000_000, sql.rows, String.join("; ", reasons));
+    }
+
+    /**
+     * Endpoints ordered by total database time, and the most recent flagged requests.
+     */
+    public Map<String, Object> report(int top) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, endpointSql> e) -> e.getValue().dbNanos.sum()).reversed())
+                .limit(Math.max(1, top))
+                .forEach(e -> rows.add(e.getValue().summary(e.getKey())));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoints", rows);
+        synchronized (offenders) {
+            result.put("offenders", new ArrayList<>(offenders));
+        }
+        return result;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        synchronized (offenders) {
+            offenders.clear();
+        }
+    }
+
+    // Hooks for the Hibernate listeners; no-ops outside a request scope.
+
+    public static void statement(String sql) {
+        requestSql current = CURRENT.get();
+        if (current != null) current.statement(sql);
+    }
+
+    public static void executeStart() {
+        requestSql current = CURRENT.get();
+        if (current != null) current.executeStart = System.nanoTime();
+    }
+
+    public static void executeEnd() {
+        requestSql current = CURRENT.get();
+        if (current != null && current.executeStart != 0) {
+            current.dbNanos += System.nanoTime() - current.executeStart;
+            current.executeStart = 0;
+        }
+    }
+
+    public static void loaded() {
+        requestSql current = CURRENT.get();
+        if (current != null) current.rows++;
+    }
+
+    private List<String> reasons(requestSql sql) {
+        List<String> reasons = new ArrayList<>();
+        if (sql.statements > maxStatements) {
+            reasons.add(sql.statements + " statements (limit " + maxStatements + ")");
+        }
+        if (sql.dbNanos > slowNanos) {
+            reasons.add("slow: " + sql.dbNanos / 1_000_000 + " ms in database");
+        }
+        sql.shapes.forEach((shape, count) -> {
+            if (count >= repeatThreshold) reasons.add("N+1: " + count + "x " + abbreviate(shape));
+        });
+        if (sql.writes > 0 && "GET".equals(sql.method)) {
+            reasons.add(sql.writes + " writes during a GET");
+        }
+        return reasons;
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() > 160 ? shape.substring(0, 157) + "..." : shape;
+    }
+
+    /**
+     * Collapses literals and IN lists so repeats of one statement with different values
+     * share a shape.
+     */
+    private static String shape(String sql) {
+        String flat = LITERALS.matcher(sql.trim().replaceAll("\\s+", " ")).replaceAll("?");
+        return IN_LISTS.matcher(flat).replaceAll("(?)");
+    }
+
+    private static final class requestSql {
+        final String method;
+        final Map<String, Integer> shapes = new HashMap<>();
+        int statements;
+        int writes;
+        long rows;
+        long dbNanos;
+        long executeStart;
+
+        requestSql(String method) {
+            this.method = method;
+        }
+
+        void statement(String sql) {
+            statements++;
+            String lower = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (lower.startsWith("insert") || lower.startsWith("update") || lower.startsWith("delete")) writes++;
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    private static final class endpointSql {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder dbNanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder flagged = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAccumulator maxDbNanos = new LongAccumulator(Math::max, 0);
+
+        void add(requestSql sql) {
+            requests.increment();
+            statements.add(sql.statements);
+            dbNanos.add(sql.dbNanos);
+            rows.add(sql.rows);
+            maxStatements.accumulate(sql.statements);
+            maxDbNanos.accumulate(sql.dbNanos);
+        }
+
+        Map<String, Object> summary(String endpoint) {
+            long count = Math.max(1, requests.sum());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", requests.sum());
+            row.put("flagged", flagged.sum());
+            row.put("totalDbMs", dbNanos.sum() / 1_000_000);
+            row.put("avgDbMs", dbNanos.sum() / 1_000_000.0 / count);
+            row.put("maxDbMs", maxDbNanos.get() / 1_000_000);
+            row.put("avgStatements", statements.sum() / (double) count);
+            row.put("maxStatements", maxStatements.get());
+            row.put("avgRows", rows.sum() / (double) count);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package project.flametreehotel.Services;
+
+/**
+ * Published by authService when an active account is switched off.
+ */
+public record staffDeactivatedEvent(String username, String role) {
+}
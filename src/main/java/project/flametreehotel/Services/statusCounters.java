@@ -0,0 +1,61 @@
+package project.flametreehotel.Services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import project.flametreehotel.Repository.statusCount;
+
+/**
+ * In-memory row counts per status for one table, updated by the owning service on every
+ * write so dashboard tiles are served without a database round trip. The owning service
+ * rebuilds them from its GROUP BY query on startup and on a schedule, which absorbs any
+ * drift from rows changed outside the application.
+ */
+public class statusCounters {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void added(String status) {
+        adder(status).increment();
+    }
+
+    public void removed(String status) {
+        adder(status).decrement();
+    }
+
+    public void changed(String from, String to) {
+        if (Objects.equals(from, to)) return;
+        removed(from);
+        added(to);
+    }
+
+    /**
+     * Replaces the current counts with the given database totals.
+     */
+    public void reset(List<? extends statusCount> rows) {
+        Map<String, Long> fresh = statusMetrics.of(rows).byStatus();
+        counts.keySet().removeIf(status -> !fresh.containsKey(status));
+        counts.values().forEach(LongAdder::reset);
+        fresh.forEach((status, total) -> adder(status).add(total));
+    }
+
+    public statusMetrics snapshot() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) continue;
+            byStatus.put(entry.getKey(), count);
+            total += count;
+        }
+        return new statusMetrics(total, byStatus);
+    }
+
+    private LongAdder adder(String status) {
+        return counts.computeIfAbsent(status != null ? status : "", key -> new LongAdder());
+    }
+}
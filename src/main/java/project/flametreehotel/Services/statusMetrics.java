@@ -0,0 +1,23 @@
+package project.flametreehotel.Services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import project.flametreehotel.Repository.statusCount;
+
+/**
+ * Dashboard tile counts for one module: the row total and the number of rows per status.
+ */
+public record statusMetrics(long total, Map<String, Long> byStatus) {
+
+    public static statusMetrics of(List<? extends statusCount> rows) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (statusCount row : rows) {
+            byStatus.merge(row.getStatus() != null ? row.getStatus() : "", row.getTotal(), Long::sum);
+            total += row.getTotal();
+        }
+        return new statusMetrics(total, byStatus);
+    }
+}
@@ -0,0 +1,24 @@
+package project.flametreehotel.Services;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Compares the version a client sent in If-Match with the row's current @Version before
+ * an update. A mismatch is reported the same way as a lost race at save time, which the
+ * controllers answer with 409 Conflict.
+ */
+final class versionCheck {
+
+    private versionCheck() {
+    }
+
+    static void check(long current, Long expected, String what) {
+        if (expected != null && expected != current) {
+            throw conflict(what);
+        }
+    }
+
+    static OptimisticLockingFailureException conflict(String what) {
+        return new OptimisticLockingFailureException(what + " was changed by someone else. Reload it and try again.");
+    }
+}
@@ -0,0 +1,4 @@
+-- Failed attempts to book a completed order's stock. The retry pass skips orders that
+-- reached hotel.reorder.receipt-max-attempts; set it back to 0 to retry one after fixing it.
+
+alter table orders add column receiptAttempts int not null default 0;
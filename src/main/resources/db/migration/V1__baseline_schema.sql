@@ -0,0 +1,66 @@
+-- Tables as Hibernate created them before migrations were introduced.
+-- Existing databases are baselined at version 0, so these statements are no-ops there.
+
+create table if not exists guest (
+    id int not null auto_increment,
+    requestId varchar(255),
+    guestRoom varchar(255),
+    request varchar(255),
+    assignedStaff varchar(255),
+    status varchar(255),
+    primary key (id)
+);
+
+create table if not exists housekeeping (
+    id int not null auto_increment,
+    requestid varchar(255),
+    room varchar(255),
+    requestType varchar(255),
+    assingedStaff varchar(255),
+    taskStatus varchar(255),
+    approved bit not null,
+    primary key (id)
+);
+
+create table if not exists inventory (
+    id int not null auto_increment,
+    item varchar(255),
+    category varchar(255),
+    inStock int not null,
+    minLevel int not null,
+    damaged int not null,
+    missing int not null,
+    status varchar(255),
+    primary key (id)
+);
+
+create table if not exists maintenance (
+    id int not null auto_increment,
+    ticket varchar(255),
+    location varchar(255),
+    issue varchar(255),
+    assignedTo varchar(255),
+    status varchar(255),
+    approved bit not null,
+    primary key (id)
+);
+
+create table if not exists orders (
+    id int not null auto_increment,
+    poid varchar(255),
+    supplier varchar(255),
+    item varchar(255),
+    qty int not null,
+    status varchar(255),
+    primary key (id)
+);
+
+create table if not exists users (
+    id int not null auto_increment,
+    username varchar(255),
+    staffEmail varchar(255),
+    password varchar(255),
+    role varchar(255),
+    status bit not null,
+    primary key (id)
+);
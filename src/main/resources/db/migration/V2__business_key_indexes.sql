@@ -0,0 +1,25 @@
+-- Unique indexes on the business keys replace the services' check-then-insert, and
+-- secondary indexes back the status/assignee filters of the paged /list endpoints.
+-- Duplicate keys already in a table must be cleaned up before this migration can run.
+
+create unique index ux_guest_request_id on guest (requestId);
+create index ix_guest_status on guest (status);
+create index ix_guest_assigned_staff on guest (assignedStaff);
+
+create unique index ux_housekeeping_request_id on housekeeping (requestid);
+create index ix_housekeeping_task_status on housekeeping (taskStatus);
+create index ix_housekeeping_assigned_staff on housekeeping (assingedStaff);
+
+create unique index ux_inventory_item on inventory (item);
+create index ix_inventory_status on inventory (status);
+create index ix_inventory_category on inventory (category);
+
+create unique index ux_maintenance_ticket on maintenance (ticket);
+create index ix_maintenance_status on maintenance (status);
+create index ix_maintenance_assigned_to on maintenance (assignedTo);
+
+create unique index ux_orders_poid on orders (poid);
+create index ix_orders_status on orders (status);
+create index ix_orders_supplier on orders (supplier);
+
+create unique index ux_users_username on users (username);
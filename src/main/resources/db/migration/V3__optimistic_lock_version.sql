@@ -0,0 +1,9 @@
+-- Version column for JPA optimistic locking: every UPDATE checks and bumps it, so a
+-- concurrent edit fails with 409 instead of silently overwriting the other change.
+
+alter table guest add column version bigint not null default 0;
+alter table housekeeping add column version bigint not null default 0;
+alter table inventory add column version bigint not null default 0;
+alter table maintenance add column version bigint not null default 0;
+alter table orders add column version bigint not null default 0;
+alter table users add column version bigint not null default 0;
@@ -0,0 +1,3 @@
+-- Backs the reorder engine's lookups of open orders and last supplier per item.
+
+create index ix_orders_item on orders (item);
@@ -0,0 +1,14 @@
+-- Change sequence for delta sync: every write appends (module, rowId) here and the
+-- auto-increment seq orders them. Deletes are kept as tombstones until pruned.
+
+create table change_log (
+    seq bigint not null auto_increment,
+    module varchar(32) not null,
+    rowId int not null,
+    deleted bit not null,
+    changedAt datetime(6) not null,
+    primary key (seq)
+);
+
+create index ix_change_log_module_seq on change_log (module, seq);
+create index ix_change_log_changed_at on change_log (changedAt);
@@ -0,0 +1,15 @@
+-- Priority and SLA for guest requests: when a request was raised, which department serves
+-- it, its priority and the deadline that priority gives it, and how often the sweeper has
+-- escalated it. Existing rows count as raised now, at Normal priority (60 minute target).
+
+alter table guest add column createdAt datetime(6) not null default current_timestamp(6);
+alter table guest add column department varchar(32) not null default 'Front Desk';
+alter table guest add column priority varchar(16) not null default 'Normal';
+alter table guest add column dueAt datetime(6) null;
+alter table guest add column escalations int not null default 0;
+
+update guest set dueAt = date_add(createdAt, interval 60 minute);
+update guest set department = 'Housekeeping' where request in ('Extra Towels', 'Toiletries Refill', 'Cleaning Follow-up');
+alter table guest modify column dueAt datetime(6) not null;
+
+create index ix_guest_status_due on guest (status, dueAt);
@@ -0,0 +1,7 @@
+-- Marks a completed purchase order once its quantity has been booked into stock, so a
+-- receipt is booked exactly once and one that failed can be retried. Orders already
+-- completed count as booked.
+
+alter table orders add column stockReceived boolean not null default false;
+
+update orders set stockReceived = true where status = 'Complete';
@@ -0,0 +1,23 @@
+-- change_log.seq must be handed out in one increasing order across every server, or a
+-- client polling /changes?since= can skip an entry. TiDB hands out auto-increment values in per-server
+-- batches unless AUTO_ID_CACHE is 1, which can only be given when the table is created,
+-- so the table is rebuilt with it. The option is in a TiDB comment; MySQL ignores it and
+-- its auto-increment is already monotonic. Existing entries keep their seq.
+
+create table change_log_v8 (
+    seq bigint not null auto_increment,
+    module varchar(32) not null,
+    rowId int not null,
+    deleted bit not null,
+    changedAt datetime(6) not null,
+    primary key (seq)
+) /*T![auto_id_cache] AUTO_ID_CACHE=1 */;
+
+insert into change_log_v8 (seq, module, rowId, deleted, changedAt)
+select seq, module, rowId, deleted, changedAt from change_log;
+
+drop table change_log;
+rename table change_log_v8 to change_log;
+
+create index ix_change_log_module_seq on change_log (module, seq);
+create index ix_change_log_changed_at on change_log (changedAt);
@@ -0,0 +1,12 @@
+-- change_log.seq is now taken from this one-row counter, locked until the writing
+-- transaction commits: a transaction that takes a later seq waits for the one holding an
+-- earlier seq, so seqs become visible in order and /changes?since= never steps over a
+-- change that commits late. The auto-increment on change_log.seq is no longer used.
+
+create table change_seq (
+    id int not null,
+    nextSeq bigint not null,
+    primary key (id)
+);
+
+insert into change_seq (id, nextSeq) select 1, coalesce(max(seq), 0) + 1 from change_log;
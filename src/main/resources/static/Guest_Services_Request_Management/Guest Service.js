@@ -5,26 +5,101 @@
 
 document.addEventListener('DOMContentLoaded', () => {
   loadAndRender();
+  subscribeToChanges();
   attachEventListeners();
 });
 
+let loadedRequests = [];
+let nextCursor = null;
+
+async function fetchPage(after) {
+  const params = new URLSearchParams();
+  if (after) params.set('after', after);
+  const res = await fetch(`/guestservice/list?${params}`);
+  if (!res.ok) throw new Error('Failed to load requests.');
+  return res.json();
+}
+
 async function loadAndRender() {
+  loadMetrics();
   try {
-    const res = await fetch('/guestservice/list');
-    if (!res.ok) throw new Error('Failed to load requests.');
-    const requests = await res.json();
-    renderMetrics(requests);
-    renderTable(requests);
+    const page = await fetchPage(null);
+    loadedRequests = page.items;
+    nextCursor = page.nextCursor;
+    renderAll();
   } catch (err) {
     showMessage('Error loading requests: ' + err.message);
   }
 }
 
-function renderMetrics(requests) {
-  document.getElementById('totalRequestsMetric').textContent = requests.length;
-  document.getElementById('assignedMetric').textContent = requests.filter((r) => r.status === 'Assigned').length;
-  document.getElementById('inProgressMetric').textContent = requests.filter((r) => r.status === 'In Progress').length;
-  document.getElementById('completedMetric').textContent = requests.filter((r) => r.status === 'Completed').length;
+async function loadMore() {
+  if (!nextCursor) return;
+  try {
+    const page = await fetchPage(nextCursor);
+    loadedRequests = loadedRequests.concat(page.items);
+    nextCursor = page.nextCursor;
+    renderAll();
+  } catch (err) {
+    showMessage('Error loading requests: ' + err.message);
+  }
+}
+
+let changeFeed = null;
+let metricsTimer = null;
+
+// Live updates: each event carries only the changed row, so the table is patched in
+// place instead of refetching the whole list after every write.
+function subscribeToChanges() {
+  changeFeed = new EventSource('/guestservice/events');
+  changeFeed.addEventListener('saved', (e) => {
+    const { row } = JSON.parse(e.data);
+    const index = loadedRequests.findIndex((request) => request.id === row.id);
+    if (index >= 0) {
+      loadedRequests[index] = row;
+    } else if (!nextCursor) {
+      loadedRequests.push(row);
+    }
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('deleted', (e) => {
+    const { id } = JSON.parse(e.data);
+    loadedRequests = loadedRequests.filter((request) => request.id !== id);
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('reload', () => loadAndRender());
+}
+
+function scheduleMetrics() {
+  clearTimeout(metricsTimer);
+  metricsTimer = setTimeout(loadMetrics, 1000);
+}
+
+async function refreshAfterWrite() {
+  // The change feed delivers our own writes too; refetch only when it is not connected.
+  if (changeFeed && changeFeed.readyState === EventSource.OPEN) return;
+  await loadAndRender();
+}
+
+function renderAll() {
+  renderTable(loadedRequests);
+  document.getElementById('loadMoreBtn').hidden = !nextCursor;
+}
+
+async function loadMetrics() {
+  try {
+    const res = await fetch('/guestservice/metrics');
+    if (!res.ok) throw new Error('Failed to load metrics.');
+    const metrics = await res.json();
+    const count = (status) => metrics.byStatus[status] || 0;
+    document.getElementById('totalRequestsMetric').textContent = metrics.total;
+    document.getElementById('assignedMetric').textContent = count('Assigned');
+    document.getElementById('inProgressMetric').textContent = count('In Progress');
+    document.getElementById('completedMetric').textContent = count('Completed');
+  } catch (err) {
+    showMessage('Error loading metrics: ' + err.message);
+  }
 }
 
 function statusFromRequest(status) {
@@ -73,6 +148,7 @@ function renderTable(requests) {
 
 function attachEventListeners() {
   document.getElementById('openAddDialogBtn').addEventListener('click', openAddDialog);
+  document.getElementById('loadMoreBtn').addEventListener('click', loadMore);
 
   document.getElementById('cancelAddDialogBtn').addEventListener('click', () => {
     document.getElementById('addRequestDialog').close();
@@ -107,16 +183,17 @@ function openAddDialog() {
 
 async function openUpdateDialog(id) {
   try {
-    const res = await fetch('/guestservice/list');
-    const requests = await res.json();
-    const req = requests.find((r) => r.id === id);
+    const res = await fetch(`/guestservice/${id}`);
+    const data = await res.json();
+    const req = data.request;
 
-    if (!req) {
-      showMessage('Request not found.');
+    if (!data.success || !req) {
+      showMessage(data.message || 'Request not found.');
       return;
     }
 
     document.getElementById('updateRequestDbId').value = String(req.id);
+    document.getElementById('updateRequestDbId').dataset.version = String(req.version);
     document.getElementById('updateRequestId').value = req.requestId;
     document.getElementById('updateRoomNo').value = req.guestRoom;
     document.getElementById('updateRequestType').value = req.request;
@@ -162,7 +239,7 @@ async function handleAddSubmit(e) {
     document.getElementById('addRequestDialog').close();
     document.getElementById('addRequestForm').reset();
     showMessage(data.message || 'Request added successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error adding request.');
   }
@@ -191,7 +268,7 @@ async function handleUpdateSubmit(e) {
   try {
     const res = await fetch('/guestservice/update', {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', 'If-Match': `"${document.getElementById('updateRequestDbId').dataset.version}"` },
       body: JSON.stringify(payload),
     });
     const data = await res.json();
@@ -204,7 +281,7 @@ async function handleUpdateSubmit(e) {
     document.getElementById('updateRequestDialog').close();
     document.getElementById('updateRequestForm').reset();
     showMessage(data.message || 'Request updated successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error updating request.');
   }
@@ -221,7 +298,7 @@ async function handleDelete(id, requestLabel) {
     });
     const data = await res.json();
     showMessage(data.message || 'Request deleted successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error deleting request.');
   }
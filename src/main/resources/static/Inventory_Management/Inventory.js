@@ -11,6 +11,10 @@ const lowStockMetric = document.getElementById('lowStockMetric');
 const damagedMetric = document.getElementById('damagedMetric');
 const missingMetric = document.getElementById('missingMetric');
 const inventoryMessage = document.getElementById('inventoryMessage');
+const loadMoreBtn = document.getElementById('loadMoreBtn');
+
+let loadedItems = [];
+let nextCursor = null;
 
 const itemNameInput = document.getElementById('itemName');
 const categoryInput = document.getElementById('category');
@@ -65,35 +69,102 @@ function renderTable(items) {
   });
 }
 
-function renderMetrics(items) {
-  totalItemsMetric.textContent = String(items.length).padStart(2, '0');
-  lowStockMetric.textContent = String(items.filter((item) => item.status === 'Low Stock').length).padStart(2, '0');
-  damagedMetric.textContent = String(items.reduce((sum, item) => sum + Number(item.damaged || 0), 0)).padStart(2, '0');
-  missingMetric.textContent = String(items.reduce((sum, item) => sum + Number(item.missing || 0), 0)).padStart(2, '0');
+async function loadMetrics() {
+  try {
+    const res = await fetch('/inventory/metrics');
+    if (!res.ok) throw new Error('Failed to load metrics.');
+    const metrics = await res.json();
+    totalItemsMetric.textContent = String(metrics.total).padStart(2, '0');
+    lowStockMetric.textContent = String(metrics.byStatus['Low Stock'] || 0).padStart(2, '0');
+    damagedMetric.textContent = String(metrics.damaged).padStart(2, '0');
+    missingMetric.textContent = String(metrics.missing).padStart(2, '0');
+  } catch (err) {
+    showMessage('Error loading metrics: ' + err.message);
+  }
 }
 
 function renderAll(items) {
   renderTable(items);
-  renderMetrics(items);
+  loadMoreBtn.hidden = !nextCursor;
 }
 
 function showMessage(message) {
   inventoryMessage.textContent = message;
 }
 
+async function fetchPage(after) {
+  const params = new URLSearchParams();
+  if (after) params.set('after', after);
+  const res = await fetch(`/inventory/list?${params}`);
+  if (!res.ok) throw new Error('Failed to load inventory.');
+  return res.json();
+}
+
 async function loadAndRender() {
+  loadMetrics();
+  try {
+    const page = await fetchPage(null);
+    loadedItems = page.items;
+    nextCursor = page.nextCursor;
+    renderAll(loadedItems);
+  } catch (err) {
+    showMessage('Error loading inventory: ' + err.message);
+  }
+}
+
+async function loadMore() {
+  if (!nextCursor) return;
   try {
-    const res = await fetch('/inventory/list');
-    if (!res.ok) throw new Error('Failed to load inventory.');
-    const items = await res.json();
-    renderAll(items);
+    const page = await fetchPage(nextCursor);
+    loadedItems = loadedItems.concat(page.items);
+    nextCursor = page.nextCursor;
+    renderAll(loadedItems);
   } catch (err) {
     showMessage('Error loading inventory: ' + err.message);
   }
 }
 
+let changeFeed = null;
+let metricsTimer = null;
+
+// Live updates: each event carries only the changed row, so the table is patched in
+// place instead of refetching the whole list after every write.
+function subscribeToChanges() {
+  changeFeed = new EventSource('/inventory/events');
+  changeFeed.addEventListener('saved', (e) => {
+    const { row } = JSON.parse(e.data);
+    const index = loadedItems.findIndex((item) => item.id === row.id);
+    if (index >= 0) {
+      loadedItems[index] = row;
+    } else if (!nextCursor) {
+      loadedItems.push(row);
+    }
+    renderAll(loadedItems);
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('deleted', (e) => {
+    const { id } = JSON.parse(e.data);
+    loadedItems = loadedItems.filter((item) => item.id !== id);
+    renderAll(loadedItems);
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('reload', () => loadAndRender());
+}
+
+function scheduleMetrics() {
+  clearTimeout(metricsTimer);
+  metricsTimer = setTimeout(loadMetrics, 1000);
+}
+
+async function refreshAfterWrite() {
+  // The change feed delivers our own writes too; refetch only when it is not connected.
+  if (changeFeed && changeFeed.readyState === EventSource.OPEN) return;
+  await loadAndRender();
+}
+
 function openUpdateDialog(item) {
   updateItemIdInput.value = String(item.id);
+  updateItemIdInput.dataset.version = String(item.version);
   updateItemNameInput.value = item.item;
   updateCategoryInput.value = item.category;
   updateStockInput.value = String(item.inStock);
@@ -108,6 +179,8 @@ openAddDialogBtn.addEventListener('click', () => {
   addItemDialog.showModal();
 });
 
+loadMoreBtn.addEventListener('click', loadMore);
+
 cancelAddDialogBtn.addEventListener('click', () => {
   addItemDialog.close();
 });
@@ -130,13 +203,12 @@ inventoryTableBody.addEventListener('click', async (event) => {
 
   if (action === 'edit') {
     try {
-      const res = await fetch('/inventory/list');
-      const items = await res.json();
-      const item = items.find((i) => i.id === id);
-      if (item) {
-        openUpdateDialog(item);
+      const res = await fetch(`/inventory/${id}`);
+      const data = await res.json();
+      if (data.success && data.item) {
+        openUpdateDialog(data.item);
       } else {
-        showMessage('Unable to find selected item.');
+        showMessage(data.message || 'Unable to find selected item.');
       }
     } catch {
       showMessage('Error fetching item details.');
@@ -157,7 +229,7 @@ inventoryTableBody.addEventListener('click', async (event) => {
       });
       const data = await res.json();
       showMessage(data.message || 'Item deleted.');
-      await loadAndRender();
+      await refreshAfterWrite();
     } catch {
       showMessage('Error deleting item.');
     }
@@ -196,7 +268,7 @@ addItemForm.addEventListener('submit', async (event) => {
     addItemForm.reset();
     addItemDialog.close();
     showMessage(data.message || 'Item added.');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error adding item.');
   }
@@ -226,7 +298,7 @@ updateItemForm.addEventListener('submit', async (event) => {
   try {
     const res = await fetch('/inventory/update', {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', 'If-Match': `"${updateItemIdInput.dataset.version}"` },
       body: JSON.stringify(payload)
     });
     const data = await res.json();
@@ -239,10 +311,11 @@ updateItemForm.addEventListener('submit', async (event) => {
     updateItemForm.reset();
     updateItemDialog.close();
     showMessage(data.message || 'Item updated.');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error updating item.');
   }
 });
 
 loadAndRender();
+subscribeToChanges();
@@ -4,6 +4,10 @@ const repairedMetric = document.getElementById('repairedMetric');
 const replacementMetric = document.getElementById('replacementMetric');
 const maintenanceTableBody = document.getElementById('maintenanceTableBody');
 const maintenanceMessage = document.getElementById('maintenanceMessage');
+const loadMoreBtn = document.getElementById('loadMoreBtn');
+
+let loadedTickets = [];
+let nextCursor = null;
 
 const openAddDialogBtn = document.getElementById('openAddDialogBtn');
 const addTicketDialog = document.getElementById('addTicketDialog');
@@ -37,11 +41,19 @@ function approvalLabel(approved) {
   return approved ? 'Approved' : 'Not Approved';
 }
 
-function renderMetrics(tickets) {
-  openIssuesMetric.textContent = String(tickets.filter((t) => t.status === 'Open').length).padStart(2, '0');
-  inProgressMetric.textContent = String(tickets.filter((t) => t.status === 'In Progress').length).padStart(2, '0');
-  repairedMetric.textContent = String(tickets.filter((t) => t.status === 'Repaired').length).padStart(2, '0');
-  replacementMetric.textContent = String(tickets.filter((t) => t.status === 'Replacement Needed').length).padStart(2, '0');
+async function loadMetrics() {
+  try {
+    const res = await fetch('/maintenance/metrics');
+    if (!res.ok) throw new Error('Failed to load metrics.');
+    const metrics = await res.json();
+    const count = (status) => String(metrics.byStatus[status] || 0).padStart(2, '0');
+    openIssuesMetric.textContent = count('Open');
+    inProgressMetric.textContent = count('In Progress');
+    repairedMetric.textContent = count('Repaired');
+    replacementMetric.textContent = count('Replacement Needed');
+  } catch (err) {
+    showMessage('Error loading metrics: ' + err.message);
+  }
 }
 
 function renderTable(tickets) {
@@ -78,27 +90,87 @@ function renderTable(tickets) {
 }
 
 function renderAll(tickets) {
-  renderMetrics(tickets);
   renderTable(tickets);
+  loadMoreBtn.hidden = !nextCursor;
 }
 
 function showMessage(message) {
   maintenanceMessage.textContent = message;
 }
 
+async function fetchPage(after) {
+  const params = new URLSearchParams();
+  if (after) params.set('after', after);
+  const res = await fetch(`/maintenance/list?${params}`);
+  if (!res.ok) throw new Error('Failed to load tickets.');
+  return res.json();
+}
+
 async function loadAndRender() {
+  loadMetrics();
+  try {
+    const page = await fetchPage(null);
+    loadedTickets = page.items;
+    nextCursor = page.nextCursor;
+    renderAll(loadedTickets);
+  } catch (err) {
+    showMessage('Error loading tickets: ' + err.message);
+  }
+}
+
+async function loadMore() {
+  if (!nextCursor) return;
   try {
-    const res = await fetch('/maintenance/list');
-    if (!res.ok) throw new Error('Failed to load tickets.');
-    const tickets = await res.json();
-    renderAll(tickets);
+    const page = await fetchPage(nextCursor);
+    loadedTickets = loadedTickets.concat(page.items);
+    nextCursor = page.nextCursor;
+    renderAll(loadedTickets);
   } catch (err) {
     showMessage('Error loading tickets: ' + err.message);
   }
 }
 
+let changeFeed = null;
+let metricsTimer = null;
+
+// Live updates: each event carries only the changed row, so the table is patched in
+// place instead of refetching the whole list after every write.
+function subscribeToChanges() {
+  changeFeed = new EventSource('/maintenance/events');
+  changeFeed.addEventListener('saved', (e) => {
+    const { row } = JSON.parse(e.data);
+    const index = loadedTickets.findIndex((ticket) => ticket.id === row.id);
+    if (index >= 0) {
+      loadedTickets[index] = row;
+    } else if (!nextCursor) {
+      loadedTickets.push(row);
+    }
+    renderAll(loadedTickets);
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('deleted', (e) => {
+    const { id } = JSON.parse(e.data);
+    loadedTickets = loadedTickets.filter((ticket) => ticket.id !== id);
+    renderAll(loadedTickets);
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('reload', () => loadAndRender());
+}
+
+function scheduleMetrics() {
+  clearTimeout(metricsTimer);
+  metricsTimer = setTimeout(loadMetrics, 1000);
+}
+
+async function refreshAfterWrite() {
+  // The change feed delivers our own writes too; refetch only when it is not connected.
+  if (changeFeed && changeFeed.readyState === EventSource.OPEN) return;
+  await loadAndRender();
+}
+
 function openUpdateDialog(ticket) {
   updateTicketDbIdInput.value = String(ticket.id);
+  updateTicketDbIdInput.dataset.version = String(ticket.version);
   updateTicketIdInput.value = ticket.ticket;
   updateLocationInput.value = ticket.location;
   updateIssueInput.value = ticket.issue;
@@ -112,6 +184,8 @@ openAddDialogBtn.addEventListener('click', () => {
   addTicketDialog.showModal();
 });
 
+loadMoreBtn.addEventListener('click', loadMore);
+
 cancelAddDialogBtn.addEventListener('click', () => {
   addTicketDialog.close();
 });
@@ -153,7 +227,7 @@ addTicketForm.addEventListener('submit', async (event) => {
     addTicketDialog.close();
     addTicketForm.reset();
     showMessage(data.message || 'Ticket added.');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error adding ticket.');
   }
@@ -182,7 +256,7 @@ updateTicketForm.addEventListener('submit', async (event) => {
   try {
     const res = await fetch('/maintenance/update', {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', 'If-Match': `"${updateTicketDbIdInput.dataset.version}"` },
       body: JSON.stringify(payload)
     });
     const data = await res.json();
@@ -195,7 +269,7 @@ updateTicketForm.addEventListener('submit', async (event) => {
     updateTicketDialog.close();
     updateTicketForm.reset();
     showMessage(data.message || 'Ticket updated.');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error updating ticket.');
   }
@@ -214,13 +288,12 @@ maintenanceTableBody.addEventListener('click', async (event) => {
 
   if (action === 'edit') {
     try {
-      const res = await fetch('/maintenance/list');
-      const tickets = await res.json();
-      const ticket = tickets.find((t) => t.id === id);
-      if (ticket) {
-        openUpdateDialog(ticket);
+      const res = await fetch(`/maintenance/${id}`);
+      const data = await res.json();
+      if (data.success && data.ticket) {
+        openUpdateDialog(data.ticket);
       } else {
-        showMessage('Selected ticket not found.');
+        showMessage(data.message || 'Selected ticket not found.');
       }
     } catch {
       showMessage('Error fetching ticket details.');
@@ -241,7 +314,7 @@ maintenanceTableBody.addEventListener('click', async (event) => {
       });
       const data = await res.json();
       showMessage(data.message || 'Ticket deleted.');
-      await loadAndRender();
+      await refreshAfterWrite();
     } catch {
       showMessage('Error deleting ticket.');
     }
@@ -249,3 +322,4 @@ maintenanceTableBody.addEventListener('click', async (event) => {
 });
 
 loadAndRender();
+subscribeToChanges();
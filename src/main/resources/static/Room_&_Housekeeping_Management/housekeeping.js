@@ -5,26 +5,101 @@
 
 document.addEventListener('DOMContentLoaded', () => {
   loadAndRender();
+  subscribeToChanges();
   attachEventListeners();
 });
 
+let loadedTasks = [];
+let nextCursor = null;
+
+async function fetchPage(after) {
+  const params = new URLSearchParams();
+  if (after) params.set('after', after);
+  const res = await fetch(`/housekeeping/list?${params}`);
+  if (!res.ok) throw new Error('Failed to load tasks.');
+  return res.json();
+}
+
 async function loadAndRender() {
+  loadMetrics();
   try {
-    const res = await fetch('/housekeeping/list');
-    if (!res.ok) throw new Error('Failed to load tasks.');
-    const tasks = await res.json();
-    renderMetrics(tasks);
-    renderTable(tasks);
+    const page = await fetchPage(null);
+    loadedTasks = page.items;
+    nextCursor = page.nextCursor;
+    renderAll();
   } catch (err) {
     showMessage('Error loading tasks: ' + err.message);
   }
 }
 
-function renderMetrics(tasks) {
-  document.getElementById('totalTasksMetric').textContent = tasks.length;
-  document.getElementById('assignedMetric').textContent = tasks.filter((t) => t.taskStatus === 'Assigned').length;
-  document.getElementById('inProgressMetric').textContent = tasks.filter((t) => t.taskStatus === 'In Progress').length;
-  document.getElementById('completedMetric').textContent = tasks.filter((t) => t.taskStatus === 'Completed').length;
+async function loadMore() {
+  if (!nextCursor) return;
+  try {
+    const page = await fetchPage(nextCursor);
+    loadedTasks = loadedTasks.concat(page.items);
+    nextCursor = page.nextCursor;
+    renderAll();
+  } catch (err) {
+    showMessage('Error loading tasks: ' + err.message);
+  }
+}
+
+let changeFeed = null;
+let metricsTimer = null;
+
+// Live updates: each event carries only the changed row, so the table is patched in
+// place instead of refetching the whole list after every write.
+function subscribeToChanges() {
+  changeFeed = new EventSource('/housekeeping/events');
+  changeFeed.addEventListener('saved', (e) => {
+    const { row } = JSON.parse(e.data);
+    const index = loadedTasks.findIndex((task) => task.id === row.id);
+    if (index >= 0) {
+      loadedTasks[index] = row;
+    } else if (!nextCursor) {
+      loadedTasks.push(row);
+    }
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('deleted', (e) => {
+    const { id } = JSON.parse(e.data);
+    loadedTasks = loadedTasks.filter((task) => task.id !== id);
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('reload', () => loadAndRender());
+}
+
+function scheduleMetrics() {
+  clearTimeout(metricsTimer);
+  metricsTimer = setTimeout(loadMetrics, 1000);
+}
+
+async function refreshAfterWrite() {
+  // The change feed delivers our own writes too; refetch only when it is not connected.
+  if (changeFeed && changeFeed.readyState === EventSource.OPEN) return;
+  await loadAndRender();
+}
+
+function renderAll() {
+  renderTable(loadedTasks);
+  document.getElementById('loadMoreBtn').hidden = !nextCursor;
+}
+
+async function loadMetrics() {
+  try {
+    const res = await fetch('/housekeeping/metrics');
+    if (!res.ok) throw new Error('Failed to load metrics.');
+    const metrics = await res.json();
+    const count = (status) => metrics.byStatus[status] || 0;
+    document.getElementById('totalTasksMetric').textContent = metrics.total;
+    document.getElementById('assignedMetric').textContent = count('Assigned');
+    document.getElementById('inProgressMetric').textContent = count('In Progress');
+    document.getElementById('completedMetric').textContent = count('Completed');
+  } catch (err) {
+    showMessage('Error loading metrics: ' + err.message);
+  }
 }
 
 function statusFromTask(status) {
@@ -78,6 +153,7 @@ function renderTable(tasks) {
 
 function attachEventListeners() {
   document.getElementById('openAddDialogBtn').addEventListener('click', openAddDialog);
+  document.getElementById('loadMoreBtn').addEventListener('click', loadMore);
 
   document.getElementById('cancelAddDialogBtn').addEventListener('click', () => {
     document.getElementById('addTaskDialog').close();
@@ -112,16 +188,17 @@ function openAddDialog() {
 
 async function openUpdateDialog(id) {
   try {
-    const res = await fetch('/housekeeping/list');
-    const tasks = await res.json();
-    const task = tasks.find((t) => t.id === id);
+    const res = await fetch(`/housekeeping/${id}`);
+    const data = await res.json();
+    const task = data.task;
 
-    if (!task) {
-      showMessage('Task not found.');
+    if (!data.success || !task) {
+      showMessage(data.message || 'Task not found.');
       return;
     }
 
     document.getElementById('updateTaskDbId').value = String(task.id);
+    document.getElementById('updateTaskDbId').dataset.version = String(task.version);
     document.getElementById('updateRequestId').value = task.requestId;
     document.getElementById('updateRoomNo').value = task.room;
     document.getElementById('updateRequestType').value = task.requestType;
@@ -167,7 +244,7 @@ async function handleAddSubmit(e) {
     document.getElementById('addTaskDialog').close();
     document.getElementById('addTaskForm').reset();
     showMessage(data.message || 'Task added successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error adding task.');
   }
@@ -196,7 +273,7 @@ async function handleUpdateSubmit(e) {
   try {
     const res = await fetch('/housekeeping/update', {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', 'If-Match': `"${document.getElementById('updateTaskDbId').dataset.version}"` },
       body: JSON.stringify(payload),
     });
     const data = await res.json();
@@ -209,7 +286,7 @@ async function handleUpdateSubmit(e) {
     document.getElementById('updateTaskDialog').close();
     document.getElementById('updateTaskForm').reset();
     showMessage(data.message || 'Task updated successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error updating task.');
   }
@@ -226,7 +303,7 @@ async function handleDelete(id, requestLabel) {
     });
     const data = await res.json();
     showMessage(data.message || 'Task deleted successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error deleting task.');
   }
@@ -5,26 +5,101 @@
 
 document.addEventListener('DOMContentLoaded', () => {
   loadAndRender();
+  subscribeToChanges();
   attachEventListeners();
 });
 
+let loadedPos = [];
+let nextCursor = null;
+
+async function fetchPage(after) {
+  const params = new URLSearchParams();
+  if (after) params.set('after', after);
+  const res = await fetch(`/orders/list?${params}`);
+  if (!res.ok) throw new Error('Failed to load purchase orders.');
+  return res.json();
+}
+
 async function loadAndRender() {
+  loadMetrics();
   try {
-    const res = await fetch('/orders/list');
-    if (!res.ok) throw new Error('Failed to load purchase orders.');
-    const pos = await res.json();
-    renderMetrics(pos);
-    renderTable(pos);
+    const page = await fetchPage(null);
+    loadedPos = page.items;
+    nextCursor = page.nextCursor;
+    renderAll();
   } catch (err) {
     showMessage('Error loading purchase orders: ' + err.message);
   }
 }
 
-function renderMetrics(pos) {
-  document.getElementById('totalPosMetric').textContent = pos.length;
-  document.getElementById('pendingMetric').textContent = pos.filter((p) => p.status === 'Pending').length;
-  document.getElementById('partialMetric').textContent = pos.filter((p) => p.status === 'Partial').length;
-  document.getElementById('completeMetric').textContent = pos.filter((p) => p.status === 'Complete').length;
+async function loadMore() {
+  if (!nextCursor) return;
+  try {
+    const page = await fetchPage(nextCursor);
+    loadedPos = loadedPos.concat(page.items);
+    nextCursor = page.nextCursor;
+    renderAll();
+  } catch (err) {
+    showMessage('Error loading purchase orders: ' + err.message);
+  }
+}
+
+let changeFeed = null;
+let metricsTimer = null;
+
+// Live updates: each event carries only the changed row, so the table is patched in
+// place instead of refetching the whole list after every write.
+function subscribeToChanges() {
+  changeFeed = new EventSource('/orders/events');
+  changeFeed.addEventListener('saved', (e) => {
+    const { row } = JSON.parse(e.data);
+    const index = loadedPos.findIndex((po) => po.id === row.id);
+    if (index >= 0) {
+      loadedPos[index] = row;
+    } else if (!nextCursor) {
+      loadedPos.push(row);
+    }
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('deleted', (e) => {
+    const { id } = JSON.parse(e.data);
+    loadedPos = loadedPos.filter((po) => po.id !== id);
+    renderAll();
+    scheduleMetrics();
+  });
+  changeFeed.addEventListener('reload', () => loadAndRender());
+}
+
+function scheduleMetrics() {
+  clearTimeout(metricsTimer);
+  metricsTimer = setTimeout(loadMetrics, 1000);
+}
+
+async function refreshAfterWrite() {
+  // The change feed delivers our own writes too; refetch only when it is not connected.
+  if (changeFeed && changeFeed.readyState === EventSource.OPEN) return;
+  await loadAndRender();
+}
+
+function renderAll() {
+  renderTable(loadedPos);
+  document.getElementById('loadMoreBtn').hidden = !nextCursor;
+}
+
+async function loadMetrics() {
+  try {
+    const res = await fetch('/orders/metrics');
+    if (!res.ok) throw new Error('Failed to load metrics.');
+    const metrics = await res.json();
+    const count = (status) => metrics.byStatus[status] || 0;
+    document.getElementById('totalPosMetric').textContent = metrics.total;
+    document.getElementById('pendingMetric').textContent = count('Pending');
+    document.getElementById('partialMetric').textContent = count('Partial');
+    document.getElementById('completeMetric').textContent = count('Complete');
+  } catch (err) {
+    showMessage('Error loading metrics: ' + err.message);
+  }
 }
 
 function statusFromPo(status) {
@@ -73,6 +148,7 @@ function renderTable(pos) {
 
 function attachEventListeners() {
   document.getElementById('openAddDialogBtn').addEventListener('click', openAddDialog);
+  document.getElementById('loadMoreBtn').addEventListener('click', loadMore);
 
   document.getElementById('cancelAddDialogBtn').addEventListener('click', () => {
     document.getElementById('addPoDialog').close();
@@ -107,16 +183,17 @@ function openAddDialog() {
 
 async function openUpdateDialog(id) {
   try {
-    const res = await fetch('/orders/list');
-    const pos = await res.json();
-    const po = pos.find((p) => p.id === id);
+    const res = await fetch(`/orders/${id}`);
+    const data = await res.json();
+    const po = data.order;
 
-    if (!po) {
-      showMessage('Purchase order not found.');
+    if (!data.success || !po) {
+      showMessage(data.message || 'Purchase order not found.');
       return;
     }
 
     document.getElementById('updatePoDbId').value = String(po.id);
+    document.getElementById('updatePoDbId').dataset.version = String(po.version);
     document.getElementById('updatePoId').value = po.poid;
     document.getElementById('updateSupplierName').value = po.supplier;
     document.getElementById('updateItemName').value = po.item;
@@ -162,7 +239,7 @@ async function handleAddSubmit(e) {
     document.getElementById('addPoDialog').close();
     document.getElementById('addPoForm').reset();
     showMessage(data.message || 'Purchase order added successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error adding purchase order.');
   }
@@ -191,7 +268,7 @@ async function handleUpdateSubmit(e) {
   try {
     const res = await fetch('/orders/update', {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', 'If-Match': `"${document.getElementById('updatePoDbId').dataset.version}"` },
       body: JSON.stringify(payload),
     });
     const data = await res.json();
@@ -204,7 +281,7 @@ async function handleUpdateSubmit(e) {
     document.getElementById('updatePoDialog').close();
     document.getElementById('updatePoForm').reset();
     showMessage(data.message || 'Purchase order updated successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error updating purchase order.');
   }
@@ -221,7 +298,7 @@ async function handleDelete(id, poidLabel) {
     });
     const data = await res.json();
     showMessage(data.message || 'Purchase order deleted successfully!');
-    await loadAndRender();
+    await refreshAfterWrite();
   } catch {
     showMessage('Error deleting purchase order.');
   }
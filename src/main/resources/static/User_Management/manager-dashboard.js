@@ -29,8 +29,10 @@ function setMetric(id, value) {
   }
 }
 
-function countByStatus(items, field, expected) {
-  return items.filter(item => String(item?.[field] || '').toLowerCase() === expected.toLowerCase()).length;
+function countByStatus(metrics, expected) {
+  return Object.entries(metrics?.byStatus || {})
+    .filter(([status]) => status.toLowerCase() === expected.toLowerCase())
+    .reduce((sum, [, total]) => sum + total, 0);
 }
 
 function escapeHtml(value) {
@@ -47,12 +49,12 @@ const currentRole = localStorage.getItem('currentUserRole') || 'Manager';
 async function loadApprovalTables() {
   try {
     const [housekeepingRes, maintenanceRes] = await Promise.all([
-      fetch('/housekeeping/list'),
-      fetch('/maintenance/list')
+      fetch('/housekeeping/list?status=Completed&limit=200'),
+      fetch('/maintenance/list?status=Repaired&limit=200')
     ]);
 
-    const housekeepingTasks = housekeepingRes.ok ? await housekeepingRes.json() : [];
-    const maintenanceTickets = maintenanceRes.ok ? await maintenanceRes.json() : [];
+    const housekeepingTasks = housekeepingRes.ok ? (await housekeepingRes.json()).items : [];
+    const maintenanceTickets = maintenanceRes.ok ? (await maintenanceRes.json()).items : [];
 
     const housekeepingBody = document.getElementById('housekeepingApprovalTableBody');
     if (housekeepingBody) {
@@ -103,62 +105,58 @@ async function updateApproval(moduleName, id, approved) {
 
 async function loadDashboardMetrics() {
   try {
-    const [guestRes, housekeepingRes, inventoryRes, maintenanceRes, ordersRes] = await Promise.all([
-      fetch('/guestservice/list'),
-      fetch('/housekeeping/list'),
-      fetch('/inventory/list'),
-      fetch('/maintenance/list'),
-      fetch('/orders/list')
-    ]);
+    const res = await fetch('/dashboard/summary');
+    if (!res.ok) throw new Error('Failed to load dashboard summary.');
+    const summary = await res.json();
 
-    const guestRequests = guestRes.ok ? await guestRes.json() : [];
-    const housekeepingTasks = housekeepingRes.ok ? await housekeepingRes.json() : [];
-    const inventoryItems = inventoryRes.ok ? await inventoryRes.json() : [];
-    const maintenanceTickets = maintenanceRes.ok ? await maintenanceRes.json() : [];
-    const orders = ordersRes.ok ? await ordersRes.json() : [];
+    const guestMetrics = summary.guestservice;
+    const housekeepingMetrics = summary.housekeeping;
+    const inventoryMetrics = summary.inventory;
+    const maintenanceMetrics = summary.maintenance;
+    const ordersMetrics = summary.orders;
 
-    const guestAssigned = countByStatus(guestRequests, 'status', 'Assigned');
-    const guestInProgress = countByStatus(guestRequests, 'status', 'In Progress');
-    const guestCompleted = countByStatus(guestRequests, 'status', 'Completed');
+    const guestAssigned = countByStatus(guestMetrics, 'Assigned');
+    const guestInProgress = countByStatus(guestMetrics, 'In Progress');
+    const guestCompleted = countByStatus(guestMetrics, 'Completed');
 
-    setMetric('guestTotalMetric', guestRequests.length);
+    setMetric('guestTotalMetric', guestMetrics.total);
     setMetric('guestAssignedMetric', guestAssigned);
     setMetric('guestInProgressMetric', guestInProgress);
     setMetric('guestCompletedMetric', guestCompleted);
 
-    const housekeepingAssigned = countByStatus(housekeepingTasks, 'taskStatus', 'Assigned');
-    const housekeepingInProgress = countByStatus(housekeepingTasks, 'taskStatus', 'In Progress');
-    const housekeepingCompleted = countByStatus(housekeepingTasks, 'taskStatus', 'Completed');
+    const housekeepingAssigned = countByStatus(housekeepingMetrics, 'Assigned');
+    const housekeepingInProgress = countByStatus(housekeepingMetrics, 'In Progress');
+    const housekeepingCompleted = countByStatus(housekeepingMetrics, 'Completed');
 
-    setMetric('housekeepingTotalMetric', housekeepingTasks.length);
+    setMetric('housekeepingTotalMetric', housekeepingMetrics.total);
     setMetric('housekeepingAssignedMetric', housekeepingAssigned);
     setMetric('housekeepingInProgressMetric', housekeepingInProgress);
     setMetric('housekeepingCompletedMetric', housekeepingCompleted);
 
-    const inventoryLowStock = countByStatus(inventoryItems, 'status', 'Low Stock');
-    const inventoryDamaged = inventoryItems.reduce((sum, item) => sum + Number(item?.damaged || 0), 0);
-    const inventoryMissing = inventoryItems.reduce((sum, item) => sum + Number(item?.missing || 0), 0);
+    const inventoryLowStock = countByStatus(inventoryMetrics, 'Low Stock');
+    const inventoryDamaged = inventoryMetrics.damaged;
+    const inventoryMissing = inventoryMetrics.missing;
 
-    setMetric('inventoryTotalMetric', inventoryItems.length);
+    setMetric('inventoryTotalMetric', inventoryMetrics.total);
     setMetric('inventoryLowStockMetric', inventoryLowStock);
     setMetric('inventoryDamagedMetric', inventoryDamaged);
     setMetric('inventoryMissingMetric', inventoryMissing);
 
-    const maintenanceOpen = countByStatus(maintenanceTickets, 'status', 'Open');
-    const maintenanceInProgress = countByStatus(maintenanceTickets, 'status', 'In Progress');
-    const maintenanceRepaired = countByStatus(maintenanceTickets, 'status', 'Repaired');
-    const maintenanceReplacement = countByStatus(maintenanceTickets, 'status', 'Replacement Needed');
+    const maintenanceOpen = countByStatus(maintenanceMetrics, 'Open');
+    const maintenanceInProgress = countByStatus(maintenanceMetrics, 'In Progress');
+    const maintenanceRepaired = countByStatus(maintenanceMetrics, 'Repaired');
+    const maintenanceReplacement = countByStatus(maintenanceMetrics, 'Replacement Needed');
 
     setMetric('maintenanceOpenMetric', maintenanceOpen);
     setMetric('maintenanceInProgressMetric', maintenanceInProgress);
     setMetric('maintenanceRepairedMetric', maintenanceRepaired);
     setMetric('maintenanceReplacementMetric', maintenanceReplacement);
 
-    const ordersPending = countByStatus(orders, 'status', 'Pending');
-    const ordersPartial = countByStatus(orders, 'status', 'Partial');
-    const ordersComplete = countByStatus(orders, 'status', 'Complete');
+    const ordersPending = countByStatus(ordersMetrics, 'Pending');
+    const ordersPartial = countByStatus(ordersMetrics, 'Partial');
+    const ordersComplete = countByStatus(ordersMetrics, 'Complete');
 
-    setMetric('ordersTotalMetric', orders.length);
+    setMetric('ordersTotalMetric', ordersMetrics.total);
     setMetric('ordersPendingMetric', ordersPending);
     setMetric('ordersPartialMetric', ordersPartial);
     setMetric('ordersCompleteMetric', ordersComplete);
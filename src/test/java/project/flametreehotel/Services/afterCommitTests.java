@@ -0,0 +1,60 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class afterCommitTests {
+
+    private final List<String> applied = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) synchronization.afterCommit();
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    @Test
+    void runsAtOnceWithoutATransaction() {
+        afterCommit.run(() -> applied.add("put"));
+
+        assertThat(applied).containsExactly("put");
+    }
+
+    @Test
+    void waitsForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        afterCommit.run(() -> applied.add("put"));
+
+        assertThat(applied).isEmpty();
+        complete(true);
+        assertThat(applied).containsExactly("put");
+    }
+
+    @Test
+    void isDroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        afterCommit.run(() -> applied.add("put"));
+
+        complete(false);
+        assertThat(applied).isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import project.flametreehotel.Model.users;
+import project.flametreehotel.Repository.authRepository;
+
+class authServiceTests {
+
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
+    private authRepository repository;
+    private authService service;
+
+    /**
+     * A cache manager built the way Boot builds it from application.properties: only the
+     * declared cache names exist, so a cache missing from the list is caught here.
+     */
+    private static CaffeineCacheManager configuredCacheManager() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = authServiceTests.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCacheSpecification(properties.getProperty("spring.cache.caffeine.spec"));
+        manager.setCacheNames(List.of(properties.getProperty("spring.cache.cache-names").split(",")));
+        return manager;
+    }
+
+    private static users user(String password, boolean active) {
+        users user = new users();
+        user.setUsername("alice");
+        user.setPassword(password);
+        user.setRole("Manager");
+        user.setStatus(active);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = mock(authRepository.class);
+        service = new authService(repository, ENCODER, configuredCacheManager(), mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void loginSucceedsWithTheConfiguredCaches() {
+        when(repository.findByUsername("alice")).thenReturn(user(ENCODER.encode("secret"), true));
+
+        assertThat(service.login("alice", "secret", "Manager")).isNotNull();
+        assertThat(service.login("alice", "secret", "Manager")).isNotNull();
+
+        verify(repository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void loginRejectsWrongPasswordRoleOrInactiveAccount() {
+        when(repository.findByUsername("alice")).thenReturn(user(ENCODER.encode("secret"), true));
+        when(repository.findByUsername("bob")).thenReturn(null);
+
+        assertThat(service.login("alice", "wrong", "Manager")).isNull();
+        assertThat(service.login("alice", "secret", "Housekeeping Staff")).isNull();
+        assertThat(service.login("bob", "secret", "Manager")).isNull();
+    }
+
+    @Test
+    void statusChangeEvictsTheCachedAccount() {
+        String hash = ENCODER.encode("secret");
+        // Login loads, setStatus reads and saves, the next login reloads after the eviction.
+        when(repository.findByUsername("alice"))
+                .thenReturn(user(hash, true), user(hash, true), user(hash, false));
+        when(repository.save(any(users.class))).thenAnswer(call -> call.getArgument(0));
+
+        assertThat(service.login("alice", "secret", "Manager")).isNotNull();
+        service.setStatus("alice", false);
+
+        assertThat(service.login("alice", "secret", "Manager")).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class bulkRowsTests {
+
+    private static List<bulkRows.row> readCsv(String body, List<String> errors) {
+        List<bulkRows.row> rows = new ArrayList<>();
+        bulkRows.read(new BufferedReader(new StringReader(body)), true, JsonMapper.builder().build(),
+                rows::addAll, errors);
+        return rows;
+    }
+
+    private static String line(Object... fields) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) out.append(',');
+            out.append(bulkRows.csv(fields[i]));
+        }
+        return out.append('\n').toString();
+    }
+
+    @Test
+    void exportedFieldsRoundTrip() {
+        String notes = "first line\nsecond, with \"quotes\"";
+        String body = line("item", "notes", "qty")
+                + line("Towels", notes, 12)
+                + line("Soap", "plain", 3);
+        List<String> errors = new ArrayList<>();
+
+        List<bulkRows.row> rows = readCsv(body, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).values()).containsEntry("item", "Towels")
+                .containsEntry("notes", notes)
+                .containsEntry("qty", "12");
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(1).values()).containsEntry("item", "Soap").containsEntry("notes", "plain");
+        assertThat(rows.get(1).line()).isEqualTo(4);
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedNotSwallowed() {
+        List<String> errors = new ArrayList<>();
+
+        List<bulkRows.row> rows = readCsv("item,notes\nTowels,\"never closed\nSoap,plain\n", errors);
+
+        assertThat(rows).isEmpty();
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).contains("2");
+    }
+}
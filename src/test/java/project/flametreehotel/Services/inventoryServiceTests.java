@@ -0,0 +1,82 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import jakarta.persistence.EntityManager;
+import project.flametreehotel.Model.inventory;
+import project.flametreehotel.Repository.inventoryRepository;
+import project.flametreehotel.Repository.ordersRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+class inventoryServiceTests {
+
+    private inventoryRepository repository;
+    private EntityManager entityManager;
+    private inventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(inventoryRepository.class);
+        entityManager = mock(EntityManager.class);
+        service = new inventoryService(repository, mock(ordersRepository.class), mock(entityCache.class),
+                mock(changeFeed.class), JsonMapper.builder().build(), entityManager,
+                mock(ApplicationEventPublisher.class));
+    }
+
+    private static inventory towels(int inStock, long version) {
+        inventory row = new inventory();
+        row.setId(5);
+        row.setItem("Towels");
+        row.setCategory("Towels");
+        row.setInStock(inStock);
+        row.setMinLevel(20);
+        row.setStatus(inventoryService.computeStatus(inStock, 20, 0, 0));
+        row.setVersion(version);
+        return row;
+    }
+
+    @Test
+    void receiptReturnsTheRowAsUpdated() {
+        when(repository.findIdsByItem(List.of("Towels"))).thenReturn(List.of(5));
+        when(repository.adjustStock(anyList(), anyInt())).thenReturn(new int[]{1});
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(towels(60, 4)));
+
+        inventory received = service.receiveStock("Towels", 50);
+
+        assertThat(received.getInStock()).isEqualTo(60);
+        assertThat(received.getVersion()).isEqualTo(4);
+        verify(repository, never()).findByItem("Towels");
+        // The read-back must follow a cleared persistence context, or it returns the row
+        // as it was before the JDBC UPDATE.
+        InOrder order = inOrder(entityManager, repository);
+        order.verify(entityManager).flush();
+        order.verify(repository).adjustStock(anyList(), anyInt());
+        order.verify(entityManager).clear();
+        order.verify(repository).findAllById(anyCollection());
+    }
+
+    @Test
+    void receiptForAnUnknownItemFails() {
+        when(repository.findIdsByItem(List.of("Robes"))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.receiveStock("Robes", 5))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Item not found");
+    }
+}
@@ -0,0 +1,72 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import jakarta.persistence.EntityManager;
+import project.flametreehotel.Repository.ordersRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+class ordersServiceTests {
+
+    private ordersRepository repository;
+    private changeFeed feed;
+    private ordersService service;
+    // Stands in for the transaction changeFeed.atomically opens.
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ordersRepository.class);
+        feed = mock(changeFeed.class);
+        service = new ordersService(repository, mock(entityCache.class), feed, JsonMapper.builder().build(),
+                mock(EntityManager.class), mock(ApplicationEventPublisher.class));
+        doAnswer(call -> {
+            inTransaction = true;
+            try {
+                call.<Runnable>getArgument(0).run();
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(feed).atomically(any());
+    }
+
+    @Test
+    void importRecordsEachChunkInsideItsTransaction() {
+        when(repository.findExistingPoids(anyCollection())).thenReturn(List.of());
+        when(repository.findIdsByPoid(anyCollection())).thenReturn(List.of(7, 8));
+        boolean[] recordedInTransaction = {false};
+        doAnswer(call -> {
+            recordedInTransaction[0] = inTransaction;
+            return null;
+        }).when(feed).bulkSaved(eq("orders"), anyCollection());
+        String body = "poid,supplier,item,qty,status\n"
+                + "PO-1,CleanCo,Towels,10,Pending\n"
+                + "PO-2,CleanCo,Soap,5,Complete\n";
+
+        bulkRows.importResult result = service.importOrders(new BufferedReader(new StringReader(body)), true);
+
+        assertThat(result.errors()).isEmpty();
+        assertThat(result.inserted()).isEqualTo(2);
+        verify(repository).insertBatch(anyList());
+        verify(feed).bulkSaved("orders", List.of(7, 8));
+        assertThat(recordedInTransaction[0]).isTrue();
+        assertThat(service.getMetrics().total()).isEqualTo(2);
+    }
+}
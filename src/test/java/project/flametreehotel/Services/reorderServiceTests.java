@@ -0,0 +1,76 @@
+package project.flametreehotel.Services;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import project.flametreehotel.Model.orders;
+import project.flametreehotel.Repository.inventoryRepository;
+import project.flametreehotel.Repository.ordersRepository;
+
+class reorderServiceTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private ordersRepository orderRepository;
+    private inventoryService stock;
+    private reorderService service;
+
+    private static orders completed(int id, int attempts) {
+        orders order = new orders();
+        order.setId(id);
+        order.setPoid("PO-" + id);
+        order.setItem("Towels");
+        order.setQty(20);
+        order.setStatus("Complete");
+        order.setReceiptAttempts(attempts);
+        return order;
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(ordersRepository.class);
+        stock = mock(inventoryService.class);
+        service = new reorderService(mock(inventoryRepository.class), orderRepository, stock,
+                mock(ordersService.class), "Unassigned", MAX_ATTEMPTS);
+    }
+
+    @Test
+    void retryOnlyAsksForOrdersBelowTheCap() {
+        when(orderRepository.findUnreceivedIds(MAX_ATTEMPTS, 100)).thenReturn(List.of());
+
+        service.retryReceipts();
+
+        verify(orderRepository).findUnreceivedIds(MAX_ATTEMPTS, 100);
+        verify(orderRepository, never()).findAllById(List.of());
+    }
+
+    @Test
+    void failedReceiptIsCounted() {
+        when(orderRepository.findUnreceivedIds(MAX_ATTEMPTS, 100)).thenReturn(List.of(5));
+        when(orderRepository.findAllById(List.of(5))).thenReturn(List.of(completed(5, MAX_ATTEMPTS - 1)));
+        when(stock.receiveOrder(5, "Towels", 20)).thenThrow(new RuntimeException("Item not found: Towels"));
+
+        service.retryReceipts();
+
+        verify(orderRepository).countReceiptFailure(5);
+    }
+
+    @Test
+    void bookedReceiptIsNotCounted() {
+        when(orderRepository.findUnreceivedIds(MAX_ATTEMPTS, 100)).thenReturn(List.of(5));
+        when(orderRepository.findAllById(List.of(5))).thenReturn(List.of(completed(5, 1)));
+        when(stock.receiveOrder(5, "Towels", 20)).thenReturn(true);
+
+        service.retryReceipts();
+
+        verify(orderRepository, never()).countReceiptFailure(anyInt());
+    }
+}
@@ -0,0 +1,73 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import project.flametreehotel.Model.users;
+
+class sessionTokensTests {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret";
+
+    private static users user() {
+        users user = new users();
+        user.setUsername("alice");
+        user.setRole("Manager");
+        return user;
+    }
+
+    @Test
+    void validTokenCarriesTheSession() {
+        sessionTokens tokens = new sessionTokens(SECRET, 60);
+
+        sessionTokens.session session = tokens.verify(tokens.issue(user()));
+
+        assertThat(session).isNotNull();
+        assertThat(session.username()).isEqualTo("alice");
+        assertThat(session.role()).isEqualTo("Manager");
+        assertThat(session.expiresAt()).isGreaterThan(System.currentTimeMillis() / 1000);
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsRejected() {
+        String token = new sessionTokens("another-secret-another-secret", 60).issue(user());
+
+        assertThat(new sessionTokens(SECRET, 60).verify(token)).isNull();
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        sessionTokens tokens = new sessionTokens(SECRET, 60);
+        String token = tokens.issue(user());
+        String signature = token.substring(token.indexOf('.') + 1);
+        long expiresAt = tokens.verify(token).expiresAt();
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("alice\nAdministrator\n" + expiresAt).getBytes(StandardCharsets.UTF_8));
+
+        assertThat(tokens.verify(forged + "." + signature)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        sessionTokens tokens = new sessionTokens(SECRET, -1);
+
+        assertThat(tokens.verify(tokens.issue(user()))).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        sessionTokens tokens = new sessionTokens(SECRET, 60);
+
+        assertThat(tokens.verify(null)).isNull();
+        assertThat(tokens.verify("")).isNull();
+        assertThat(tokens.verify("no-dot-here")).isNull();
+        assertThat(tokens.verify("!!not-base64!!.also-not")).isNull();
+        String unsignedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("alice\nManager".getBytes(StandardCharsets.UTF_8));
+        assertThat(tokens.verify(unsignedPayload + ".")).isNull();
+    }
+}
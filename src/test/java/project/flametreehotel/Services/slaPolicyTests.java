@@ -0,0 +1,77 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import project.flametreehotel.Repository.guestQueueRow;
+
+class slaPolicyTests {
+
+    private static final Instant CREATED = Instant.parse("2026-10-18T08:00:00Z");
+
+    private final slaPolicy policy = new slaPolicy(240, 60, 30, 15, 15, 200);
+
+    private static guestQueueRow row(String status, String priority, Instant dueAt, int escalations) {
+        return new guestQueueRow(1, "GS-1", "305", "Extra Towels", "alice", status, "Housekeeping", priority,
+                CREATED, dueAt, escalations);
+    }
+
+    @Test
+    void priorityIsCanonicalAndDefaultsToNormal() {
+        assertThat(policy.priority(" high ")).isEqualTo("High");
+        assertThat(policy.priority(null)).isEqualTo("Normal");
+        assertThat(policy.priority("")).isEqualTo("Normal");
+        assertThatThrownBy(() -> policy.priority("Critical"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Low, Normal, High, Urgent");
+    }
+
+    @Test
+    void departmentComesFromTheRequestUnlessNamed() {
+        assertThat(policy.department(null, "Extra Towels")).isEqualTo("Housekeeping");
+        assertThat(policy.department(" ", "Late Checkout")).isEqualTo(slaPolicy.DEFAULT_DEPARTMENT);
+        assertThat(policy.department(" Concierge ", "Extra Towels")).isEqualTo("Concierge");
+    }
+
+    @Test
+    void deadlineFollowsThePriorityTarget() {
+        assertThat(policy.dueAt(CREATED, "Low")).isEqualTo(CREATED.plus(Duration.ofMinutes(240)));
+        assertThat(policy.dueAt(CREATED, "Normal")).isEqualTo(CREATED.plus(Duration.ofMinutes(60)));
+        assertThat(policy.dueAt(CREATED, "High")).isEqualTo(CREATED.plus(Duration.ofMinutes(30)));
+        assertThat(policy.dueAt(CREATED, "Urgent")).isEqualTo(CREATED.plus(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void escalationStopsAtUrgent() {
+        assertThat(policy.escalated("Low")).isEqualTo("Normal");
+        assertThat(policy.escalated("High")).isEqualTo("Urgent");
+        assertThat(policy.escalated("Urgent")).isEqualTo("Urgent");
+    }
+
+    @Test
+    void entryEscalatesAtTheDeadlineThenEveryInterval() {
+        Instant due = CREATED.plus(Duration.ofMinutes(60));
+
+        slaQueue.entry fresh = policy.entry(row("Assigned", "Normal", due, 0));
+        slaQueue.entry raisedTwice = policy.entry(row("Assigned", "Normal", due, 2));
+
+        assertThat(fresh.rank()).isEqualTo(1);
+        assertThat(fresh.waiting()).isTrue();
+        assertThat(fresh.escalateAt()).isEqualTo(due);
+        assertThat(raisedTwice.escalateAt()).isEqualTo(due.plus(Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void entryReflectsStatusAndTopPriority() {
+        Instant due = CREATED.plus(Duration.ofMinutes(15));
+
+        assertThat(policy.entry(row("Completed", "Normal", due, 0))).isNull();
+        assertThat(policy.entry(row("In Progress", "Normal", due, 0)).waiting()).isFalse();
+        assertThat(policy.entry(row("Assigned", "Urgent", due, 0)).escalateAt()).isNull();
+    }
+}
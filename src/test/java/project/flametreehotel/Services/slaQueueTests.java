@@ -0,0 +1,132 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import project.flametreehotel.Repository.guestQueueRow;
+
+class slaQueueTests {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T08:00:00Z");
+
+    private final slaPolicy policy = new slaPolicy(240, 60, 30, 15, 15, 200);
+    private final slaQueue queue = new slaQueue();
+
+    private slaQueue.entry entry(int id, String department, String priority, String status, int dueInMinutes) {
+        return policy.entry(new guestQueueRow(id, "GS-" + id, "305", "Room Service", "alice", status, department,
+                priority, NOW.minus(Duration.ofHours(1)), NOW.plus(Duration.ofMinutes(dueInMinutes)), 0));
+    }
+
+    private void put(int id, String department, String priority, String status, int dueInMinutes) {
+        queue.put(id, entry(id, department, priority, status, dueInMinutes));
+    }
+
+    private static List<Integer> ids(List<guestQueueRow> rows) {
+        return rows.stream().map(guestQueueRow::id).toList();
+    }
+
+    @Test
+    void nextServesHighestPriorityThenEarliestDeadline() {
+        put(1, "Front Desk", "Normal", "Assigned", 10);
+        put(2, "Front Desk", "High", "Assigned", 30);
+        put(3, "Front Desk", "Normal", "Assigned", 5);
+        put(4, "Housekeeping", "Urgent", "Assigned", 1);
+
+        assertThat(ids(queue.next("Front Desk", 10))).containsExactly(2, 3, 1);
+        assertThat(ids(queue.next("Front Desk", 2))).containsExactly(2, 3);
+        assertThat(queue.next("Concierge", 5)).isEmpty();
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        put(1, "Front Desk", "Normal", "Assigned", 10);
+        put(1, "Housekeeping", "Normal", "Assigned", 10);
+        put(2, "Front Desk", "Normal", "Assigned", 10);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(ids(queue.next("Housekeeping", 5))).containsExactly(1);
+        assertThat(ids(queue.next("Front Desk", 5))).containsExactly(2);
+
+        queue.remove(1);
+        queue.put(2, null);
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.heads()).isEmpty();
+        assertThat(queue.dueBefore(NOW.plus(Duration.ofDays(1)), 10)).isEmpty();
+        assertThat(queue.dueForEscalation(NOW.plus(Duration.ofDays(1)), 10)).isEmpty();
+    }
+
+    @Test
+    void requestsBeingWorkedOnLeaveTheWaitingQueueOnly() {
+        put(1, "Front Desk", "Normal", "In Progress", -5);
+
+        assertThat(queue.next("Front Desk", 5)).isEmpty();
+        assertThat(ids(queue.dueBefore(NOW, 5))).containsExactly(1);
+        assertThat(queue.dueForEscalation(NOW, 5)).hasSize(1);
+    }
+
+    @Test
+    void headsHoldTheNextRequestPerDepartment() {
+        put(1, "Front Desk", "Normal", "Assigned", 10);
+        put(2, "Front Desk", "High", "Assigned", 30);
+        put(3, "Housekeeping", "Low", "Assigned", 60);
+
+        assertThat(queue.heads()).containsOnlyKeys("Front Desk", "Housekeeping");
+        assertThat(queue.heads().get("Front Desk").id()).isEqualTo(2);
+        assertThat(queue.heads().get("Housekeeping").id()).isEqualTo(3);
+    }
+
+    @Test
+    void dueBeforeIsExclusiveAndLimited() {
+        put(1, "Front Desk", "Normal", "Assigned", -10);
+        put(2, "Front Desk", "Normal", "Assigned", 0);
+        put(3, "Front Desk", "Normal", "Assigned", -20);
+
+        assertThat(ids(queue.dueBefore(NOW, 10))).containsExactly(3, 1);
+        assertThat(ids(queue.dueBefore(NOW, 1))).containsExactly(3);
+    }
+
+    @Test
+    void dueForEscalationIncludesTheBoundAndSkipsUrgent() {
+        put(1, "Front Desk", "Normal", "Assigned", -10);
+        put(2, "Front Desk", "Normal", "Assigned", 0);
+        put(3, "Front Desk", "Normal", "Assigned", 1);
+        put(4, "Front Desk", "Urgent", "Assigned", -30);
+
+        assertThat(queue.dueForEscalation(NOW, 10)).extracting(e -> e.row().id()).containsExactly(1, 2);
+        assertThat(queue.dueForEscalation(NOW, 1)).extracting(e -> e.row().id()).containsExactly(1);
+        assertThat(queue.dueForEscalation(NOW.minus(Duration.ofHours(1)), 10)).isEmpty();
+    }
+
+    @Test
+    void writesDuringARebuildSurviveTheSnapshot() {
+        put(1, "Front Desk", "Normal", "Assigned", 10);
+        put(2, "Front Desk", "Normal", "Assigned", 20);
+
+        queue.beginRebuild();
+        // The snapshot was read before these writes: 2 is completed and 3 is new meanwhile,
+        // and 1 is raised after the table was read.
+        List<slaQueue.entry> snapshot = List.of(
+                entry(1, "Front Desk", "Normal", "Assigned", 10),
+                entry(2, "Front Desk", "Normal", "Assigned", 20),
+                entry(4, "Housekeeping", "Low", "Assigned", 60));
+        queue.put(1, entry(1, "Front Desk", "High", "Assigned", 10));
+        queue.remove(2);
+        put(3, "Front Desk", "Normal", "Assigned", 30);
+        queue.finishRebuild(snapshot);
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(ids(queue.next("Front Desk", 10))).containsExactly(1, 3);
+        assertThat(queue.next("Front Desk", 1).get(0).priority()).isEqualTo("High");
+        assertThat(ids(queue.next("Housekeeping", 10))).containsExactly(4);
+
+        // Once finished, writes are no longer recorded for replay.
+        queue.finishRebuild(List.of());
+        assertThat(queue.size()).isZero();
+    }
+}
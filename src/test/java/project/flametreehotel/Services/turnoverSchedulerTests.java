@@ -0,0 +1,104 @@
+package project.flametreehotel.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import project.flametreehotel.Repository.authRepository;
+import project.flametreehotel.Repository.housekeepingRepository;
+import project.flametreehotel.Repository.staffTask;
+
+class turnoverSchedulerTests {
+
+    private static final List<String> ROSTER = List.of("alice", "bob", "carol");
+
+    private static staffTask task(String staff, String room) {
+        return new staffTask() {
+            @Override
+            public String getStaff() {
+                return staff;
+            }
+
+            @Override
+            public String getRoom() {
+                return room;
+            }
+        };
+    }
+
+    private static Map<String, Long> loads(String[] assigned) {
+        return Arrays.stream(assigned).collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    @Test
+    void roomsAreSpreadEvenlyOverIdleStaff() {
+        List<String> rooms = List.of("101", "102", "103", "104", "201", "202", "203", "301", "302", "303");
+
+        String[] assigned = turnoverScheduler.plan(rooms, ROSTER, List.of(), 0.5);
+
+        Map<String, Long> loads = loads(assigned);
+        assertThat(loads.keySet()).containsExactlyInAnyOrderElementsOf(ROSTER);
+        assertThat(loads.values().stream().mapToLong(Long::longValue).max().getAsLong()
+                - loads.values().stream().mapToLong(Long::longValue).min().getAsLong()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void existingTasksCountTowardsTheLoad() {
+        List<staffTask> open = List.of(task("alice", "101"), task("alice", "102"), task("alice", "103"));
+
+        String[] assigned = turnoverScheduler.plan(List.of("104", "105"), ROSTER, open, 0.5);
+
+        assertThat(assigned).doesNotContain("alice");
+    }
+
+    @Test
+    void equallyLoadedStaffKeepTheirFloor() {
+        List<staffTask> open = List.of(task("alice", "301"), task("bob", "501"), task("carol", "701"));
+
+        String[] assigned = turnoverScheduler.plan(List.of("502", "305", "708"), ROSTER, open, 0.5);
+
+        assertThat(assigned).containsExactly("bob", "alice", "carol");
+    }
+
+    @Test
+    void tasksOfStaffOffTheRosterAreIgnored() {
+        List<staffTask> open = List.of(task("dave", "101"), task("dave", "102"));
+
+        String[] assigned = turnoverScheduler.plan(List.of("101"), List.of("alice"), open, 0.5);
+
+        assertThat(assigned).containsExactly("alice");
+    }
+
+    @Test
+    void assignFailsWithoutActiveStaff() {
+        authRepository users = mock(authRepository.class);
+        when(users.findActiveUsernames(turnoverScheduler.HOUSEKEEPING_ROLE)).thenReturn(List.of("alice"));
+        turnoverScheduler scheduler = new turnoverScheduler(users, mock(housekeepingRepository.class),
+                new hotelMetrics(new SimpleMeterRegistry()), 0.5);
+
+        assertThatThrownBy(() -> scheduler.assign(List.of("101"), Set.of("alice"), "rebalance"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("No active housekeeping staff");
+    }
+
+    @Test
+    void floorComesFromTheRoomNumber() {
+        assertThat(turnoverScheduler.floorOf("305")).isEqualTo(3);
+        assertThat(turnoverScheduler.floorOf("A-305")).isEqualTo(3);
+        assertThat(turnoverScheduler.floorOf("1204")).isEqualTo(12);
+        assertThat(turnoverScheduler.floorOf("42")).isZero();
+        assertThat(turnoverScheduler.floorOf("Lobby")).isZero();
+        assertThat(turnoverScheduler.floorOf(null)).isZero();
+    }
+}